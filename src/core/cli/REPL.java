@@ -10,12 +10,16 @@ import core.cli.commands.CommandRegistrar;
 import core.instances.ListOfKVs;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.Scanner;
 
 /**
  * The REPL (Read-Eval-Print Loop) class is responsible for starting the command-line interface
@@ -30,27 +34,73 @@ public class REPL {
                     "Path to the global carbon emissions dataset file.",
                     ArgumentDataType.STRING,
                     true
+            ),
+            new KeywordArgument(
+                    "script",
+                    "s",
+                    "Path to a file of commands to run, one per line, instead of starting the interactive prompt.",
+                    ArgumentDataType.STRING,
+                    false
+            ),
+            new KeywordArgument(
+                    "batch",
+                    "b",
+                    "Read the commands to run from the standard input, e.g. when piped from another program.",
+                    ArgumentDataType.FLAG,
+                    false
+            ),
+            new KeywordArgument(
+                    "continue-on-error",
+                    "c",
+                    "In script or batch mode, keep running the remaining commands after a command fails.",
+                    ArgumentDataType.FLAG,
+                    false
             )
     );
 
+    // Set once a command fails in script or batch mode, and returned as the exit status
+    private static volatile int exitStatus = 0;
+
     /**
-     * Starts the REPL loop, which continuously prompts the user for input,
+     * Starts the application. With the --script or --batch argument, the commands are read from the file
+     * or the standard input and run one after the other, and the application exits once they are done.
+     * Otherwise, it starts the REPL loop, which continuously prompts the user for input,
      * parses the input into commands, and executes the corresponding command.
      * All the exceptions are caught and handled here, regardless of where they occur in the command execution flow.
      *
      * @param args The command-line arguments passed to the application.
      */
     public static void start(String[] args) {
-        initializeGlobalManager(args);
+        ListOfKVs<String, String> argsMap = parseEntrypointArgs(args);
+        String scriptPath = argsMap.get("script");
+        boolean batch = scriptPath != null || argsMap.containsKey("batch");
+
+        // Set up before the managers start, since loading the dataset and the profiles already prints.
+        // Standard output is flushed when the next prompt reads input, or once at exit in script and batch mode.
+        if (batch) Chalk.setEnabled(false);
+        OutputUtils.bufferStandardOutput();
+
+        initializeGlobalManager(argsMap.get("dataset-path"));
+
+        if (batch) {
+            runBatch(scriptPath, argsMap.containsKey("continue-on-error"));
+            return;
+        }
+
         System.out.println(new Chalk("Starting the REPL...").bold().green());
         OutputUtils.printHeader();
 
+        InputSource input = InputSource.getInstance();
+
         // noinspection InfiniteLoopStatement - This is a REPL loop and the user is expected to exit manually.
         while (true) {
             // noinspection CatchMayIgnoreException
             try {
-                CommandParser.ParsedCommand parsedUserInput = promptAndParseCommand();
-                findAndDispatchCommand(parsedUserInput);
+                System.out.print(new Chalk("\n> ").bold().green());
+                String line = input.readLine();
+                if (line == null) exit(); // End of input, e.g. Ctrl+D
+
+                dispatch(line);
             } catch (CommandError e) {
                 OutputUtils.printError(e.getMessage(), e.getCommand());
             } catch (Throwable e) {
@@ -64,28 +114,107 @@ public class REPL {
     }
 
     /**
-     * Initializes the GlobalManager instance with the dataset path provided in the command-line arguments.
-     * If the dataset path is invalid, it prints an error message and exits the application.
+     * Flushes pending profile data and the output, then exits the application.
+     * The exit status is 1 if a command failed in script or batch mode, and 0 otherwise.
+     */
+    public static void exit() {
+        GlobalManager.getInstance().getIOManager().flush();
+        System.out.flush();
+        System.exit(exitStatus);
+    }
+
+    /**
+     * Runs the commands of a script file, or of the standard input, one per line.
+     * Blank lines and lines starting with '#' are skipped.
+     * Prompts of the commands read their answers from the following lines, so a script can answer them.
+     * No banner is printed and, as {@link #start(String[])} turns styling off, the output has no ANSI escape codes,
+     * so it can be read by other programs.
+     * A command fails if it throws or prints an error.
+     * Unless continueOnError is set, the first failing command stops the script.
+     * The application then exits with status 1 if any command failed, or 0 otherwise.
+     *
+     * @param scriptPath      The path to the script file, or null to read from the standard input.
+     * @param continueOnError Whether to keep running the remaining commands after a command fails.
+     */
+    private static void runBatch(String scriptPath, boolean continueOnError) {
+        try (BufferedReader reader = scriptPath == null
+                ? new BufferedReader(new InputStreamReader(System.in))
+                : Files.newBufferedReader(Paths.get(scriptPath))) {
+            InputSource input = new InputSource(reader);
+            InputSource.setInstance(input);
+
+            String line;
+            while ((line = input.readLine()) != null) {
+                int lineNumber = input.getLineNumber();
+
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+                try {
+                    OutputUtils.takeErrorReported();
+                    dispatch(trimmed);
+
+                    // The handler printed the error itself, only the line is added
+                    if (OutputUtils.takeErrorReported()) {
+                        exitStatus = 1;
+                        System.out.flush();
+                        System.err.println("[ERROR] Line " + lineNumber + " (" + trimmed.split("\\s+", 2)[0] + "): Command failed.");
+
+                        if (!continueOnError) break;
+                    }
+                } catch (Throwable e) {
+                    exitStatus = 1;
+                    System.out.flush();
+
+                    String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                    String command = e instanceof CommandError && !((CommandError) e).getCommand().isEmpty()
+                            ? " (" + ((CommandError) e).getCommand() + ")"
+                            : "";
+                    System.err.println("[ERROR] Line " + lineNumber + command + ": " + message);
+
+                    if (!continueOnError) break;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            exitStatus = 1;
+            OutputUtils.printError("Failed to read commands: " + e.getMessage(), false);
+        }
+
+        exit();
+    }
+
+    /**
+     * Parses and validates the command-line arguments passed to the application.
+     * If they are invalid, it prints an error message and exits the application.
      *
      * @param args The command-line arguments passed to the application.
+     * @return The map of the argument names to their values.
      */
-    private static void initializeGlobalManager(String[] args) {
-        CommandParser.ParsedCommand parsedCommand = CommandParser.parseFromRaw(args, false);
-        ListOfKVs<String, String> argsMap = CommandParser.validateAndGenerateArgsMap(
-                parsedCommand,
-                ENTRYPOINT_ALLOWED_ARGUMENTS,
-                "main"
-        );
-
-        String datasetPath = argsMap.get("dataset-path");
+    private static ListOfKVs<String, String> parseEntrypointArgs(String[] args) {
         try {
-            validateDatasetPath(datasetPath);
-        } catch (IllegalArgumentException e) {
+            CommandParser.ParsedCommand parsedCommand = CommandParser.parseFromRaw(args, false);
+            return CommandParser.validateAndGenerateArgsMap(parsedCommand, ENTRYPOINT_ALLOWED_ARGUMENTS, "main");
+        } catch (CommandError | IllegalArgumentException e) {
             OutputUtils.printError(e.getMessage(), false);
             System.exit(1);
+            return null;
         }
+    }
 
-        GlobalManager.createInstance(datasetPath);
+    /**
+     * Initializes the GlobalManager instance with the given dataset path.
+     * If the dataset path is invalid, it prints an error message and exits the application.
+     *
+     * @param datasetPath The path to the global carbon emissions dataset file.
+     */
+    private static void initializeGlobalManager(String datasetPath) {
+        try {
+            validateDatasetPath(datasetPath);
+            GlobalManager.createInstance(datasetPath);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            OutputUtils.printError(e.getMessage(), false);
+            System.exit(1);
+        }
     }
 
     /**
@@ -108,69 +237,14 @@ public class REPL {
     }
 
     /**
-     * Prompts the user for input, reads the command line, and parses it into a command object.
-     * If the input is invalid, it will print an error message and return null.
-     *
-     * @return A ParsedCommand object containing the command and its arguments, or null if parsing fails.
-     */
-    private static CommandParser.ParsedCommand promptAndParseCommand() {
-        Scanner scanner = new Scanner(System.in);
-        System.out.print(new Chalk("\n> ").bold().green());
-        String input = scanner.nextLine().trim();
-
-        return CommandParser.parseFromRaw(input);
-    }
-
-    /**
-     * Finds the command by its name and dispatches it for execution.
-     * If the command has subcommands, it will recursively find the appropriate subcommand.
-     *
-     * @param parsedUserInput The parsed command input from the user.
-     */
-    private static void findAndDispatchCommand(CommandParser.ParsedCommand parsedUserInput) {
-        CommandInstance targetCommand = CommandRegistrar.getCommandByName(parsedUserInput.getCommand());
-
-        if (!targetCommand.isHasSubCommands()) {
-            targetCommand.execute(parsedUserInput);
-            return;
-        }
-
-        findAndDispatchCommand(parsedUserInput, targetCommand);
-    }
-
-    /**
-     * Finds the command by its name and dispatches it for execution.
-     * If the command has subcommands, it will recursively find the appropriate subcommand.
+     * Parses a command line, finds the command by its full path and dispatches it for execution.
+     * If the command has subcommands, the sub-command names are taken from the positional arguments.
      *
-     * @param parsedUserInput The parsed command input from the user.
-     * @param fromCommand     The command instance from which to start searching for subcommands.
+     * @param input The raw command line.
      */
-    private static void findAndDispatchCommand(
-            CommandParser.ParsedCommand parsedUserInput,
-            CommandInstance fromCommand
-    ) {
-        if (parsedUserInput.getPositionalArgs().length == 0) {
-            throw new CommandError(
-                    fromCommand.getFullPath(),
-                    "Command: " + fromCommand.getName() + " requires a sub-command."
-            );
-        }
-
-        parsedUserInput.setCommand(parsedUserInput.getPositionalArgs()[0]);
-        parsedUserInput.setPositionalArgs(Arrays.copyOfRange(
-                parsedUserInput.getPositionalArgs(),
-                1,
-                parsedUserInput.getPositionalArgs().length
-        ));
-
-        CommandInstance subCommand = fromCommand.getSubCommandByName(parsedUserInput.getCommand());
-
-        if (!subCommand.isHasSubCommands()) {
-            subCommand.execute(parsedUserInput);
-            return;
-        }
-
-        // If the sub-command has further sub-commands, we need to continue searching recursively.
-        findAndDispatchCommand(parsedUserInput, subCommand);
+    private static void dispatch(String input) {
+        CommandParser.ParsedCommand parsedUserInput = CommandParser.parseFromRaw(input.trim());
+        CommandInstance targetCommand = CommandRegistrar.resolveCommand(parsedUserInput);
+        targetCommand.execute(parsedUserInput);
     }
 }
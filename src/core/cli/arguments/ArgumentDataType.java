@@ -1,10 +1,15 @@
 package core.cli.arguments;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.HashSet;
 
 /**
  * ArgumentDataType defines the data types that can be used for command arguments.
- * It includes methods to validate if a given value matches the expected data type.
+ * It includes methods to validate if a given value matches the expected data type,
+ * and to convert it to a typed value in the same pass.
+ * <p>
+ * Each data type holds its own parser, picked once when the type is created, so validating a value
+ * is a single scan over its characters rather than a regex match, and enum options are looked up in a hash set.
  * <p>
  * Originally implemented using enums, but switched to a class since the project doesn't allow enums :(
  */
@@ -16,9 +21,41 @@ public class ArgumentDataType {
 
     private final String type;
     private String[] options = null;
+    private HashSet<String> optionSet = null;
+    private final Parser parser;
+
+    /**
+     * Converts the raw value of an argument to its typed value.
+     */
+    private interface Parser {
+        /**
+         * Parses the raw value.
+         *
+         * @param value the raw value, null for an argument given without a value
+         * @return the typed value, or null if the value is invalid
+         */
+        Object parse(String value);
+    }
 
     private ArgumentDataType(String type) {
         this.type = type;
+
+        switch (type) {
+            case "string":
+                // String should be non-null and non-empty string
+                parser = value -> value == null || value.isEmpty() ? null : value;
+                break;
+            case "integer":
+                parser = ArgumentDataType::parseInteger;
+                break;
+            case "float":
+                parser = ArgumentDataType::parseFloat;
+                break;
+            default:
+                // Flag should be null
+                parser = value -> value == null ? Boolean.TRUE : null;
+                break;
+        }
     }
 
     public ArgumentDataType(String type, String[] options) {
@@ -28,6 +65,8 @@ public class ArgumentDataType {
 
         this.type = type;
         this.options = options;
+        this.optionSet = options == null ? null : new HashSet<>(Arrays.asList(options));
+        this.parser = this::parseOption;
     }
 
     /**
@@ -37,32 +76,66 @@ public class ArgumentDataType {
      * @return true if the value is invalid for this data type, false otherwise
      */
     public boolean isInvalid(String value) {
-        if (this == STRING) {
-            // String should be non-null and non-empty string
-            return value == null || value.isEmpty();
-        } else if (this == INTEGER) {
-            // Integer should only be digits
-            return value == null || !value.matches("^\\d+$");
-        } else if (this == FLOAT) {
-            // Float should be digits with a decimal point
-            return value == null || !value.matches("^\\d+(\\.\\d+)?$");
-        } else if (this == FLAG) {
-            // flag Should be null
-            return value != null;
-        } else if (this.getType().equals("enum")) {
-            // Enum should be one of the defined options
-            if (getOptions() == null || getOptions().length == 0) {
-                throw new IllegalStateException("Enum type must have options defined");
-            }
-            for (String option : getOptions()) {
-                if (Objects.equals(option, value)) {
-                    return false; // Valid option found
-                }
+        return parser.parse(value) == null;
+    }
+
+    /**
+     * Validates the given value and converts it to the typed value of this data type:
+     * a String for strings and enums, an Integer for integers, a Double for floats and Boolean.TRUE for flags.
+     *
+     * @param value the value to parse
+     * @return the typed value, or null if the value is invalid for this data type
+     * @throws IllegalStateException if this is an enum type without options
+     */
+    public Object parse(String value) {
+        return parser.parse(value);
+    }
+
+    /**
+     * Parses a non-negative integer made only of digits, rejecting values that do not fit in an int.
+     */
+    private static Object parseInteger(String value) {
+        if (value == null || value.isEmpty()) return null;
+
+        long result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return null;
+
+            result = result * 10 + (c - '0');
+            if (result > Integer.MAX_VALUE) return null;
+        }
+
+        return (int) result;
+    }
+
+    /**
+     * Parses a non-negative number made of digits with an optional decimal part, e.g. 12 or 12.5.
+     */
+    private static Object parseFloat(String value) {
+        if (value == null || value.isEmpty()) return null;
+
+        int dot = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' && dot == -1 && i > 0) {
+                dot = i;
+            } else if (c < '0' || c > '9') {
+                return null;
             }
-            return true; // No valid option found
-        } else {
-            return true;
         }
+        if (dot == value.length() - 1) return null;
+
+        return Double.parseDouble(value);
+    }
+
+    private Object parseOption(String value) {
+        // Enum should be one of the defined options
+        if (optionSet == null || optionSet.isEmpty()) {
+            throw new IllegalStateException("Enum type must have options defined");
+        }
+
+        return value != null && optionSet.contains(value) ? value : null;
     }
 
     /**
@@ -0,0 +1,91 @@
+package core.cli.arguments;
+
+import core.instances.ListOfKVs;
+
+/**
+ * ArgumentValues holds the arguments of a command once they are validated, both as the raw strings
+ * and as the typed values produced by their {@link ArgumentDataType} during validation.
+ * Handlers read the typed values, so a number is parsed once when it is validated and not again in the handler.
+ * Arguments are stored under their full name, even when given by their abbreviation.
+ */
+public class ArgumentValues {
+    private final ListOfKVs<String, String> rawValues = new ListOfKVs<>();
+    private final ListOfKVs<String, Object> values = new ListOfKVs<>();
+
+    /**
+     * Adds a validated argument.
+     *
+     * @param name     the name of the argument
+     * @param rawValue the value as given, null for a flag
+     * @param value    the typed value parsed from the raw value
+     */
+    public void put(String name, String rawValue, Object value) {
+        rawValues.put(name, rawValue);
+        values.put(name, value);
+    }
+
+    /**
+     * Gets the raw values of the arguments, mapped by the argument names.
+     *
+     * @return the raw values
+     */
+    public ListOfKVs<String, String> getRawValues() {
+        return rawValues;
+    }
+
+    /**
+     * Checks whether the argument was given, which is how flags are read.
+     *
+     * @param name the name of the argument
+     * @return true if the argument was given
+     */
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * Gets the value of a string or enum argument.
+     *
+     * @param name the name of the argument
+     * @return the value, or null if the argument was not given
+     */
+    public String getString(String name) {
+        return rawValues.get(name);
+    }
+
+    /**
+     * Gets the value of an integer argument.
+     *
+     * @param name         the name of the argument
+     * @param defaultValue the value returned if the argument was not given
+     * @return the value of the argument, or the default value
+     * @throws IllegalStateException if the argument is not an integer argument
+     */
+    public int getInt(String name, int defaultValue) {
+        Object value = values.get(name);
+        if (value == null) return defaultValue;
+        if (!(value instanceof Integer)) {
+            throw new IllegalStateException("Argument is not an integer: " + name);
+        }
+
+        return (Integer) value;
+    }
+
+    /**
+     * Gets the value of a float argument.
+     *
+     * @param name         the name of the argument
+     * @param defaultValue the value returned if the argument was not given
+     * @return the value of the argument, or the default value
+     * @throws IllegalStateException if the argument is not a float argument
+     */
+    public double getDouble(String name, double defaultValue) {
+        Object value = values.get(name);
+        if (value == null) return defaultValue;
+        if (!(value instanceof Double)) {
+            throw new IllegalStateException("Argument is not a float: " + name);
+        }
+
+        return (Double) value;
+    }
+}
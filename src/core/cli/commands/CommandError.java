@@ -1,6 +1,6 @@
 package core.cli.commands;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * CommandError is a custom exception that requires a command path to be printed to the help string
@@ -29,7 +29,7 @@ public class CommandError extends RuntimeException {
      * @param commandPath  the path of the command that caused the error
      * @param errorMessage the error message describing the issue
      */
-    public CommandError(ArrayList<String> commandPath, String errorMessage) {
+    public CommandError(List<String> commandPath, String errorMessage) {
         this(String.join(".", commandPath), errorMessage);
     }
 
@@ -39,7 +39,7 @@ public class CommandError extends RuntimeException {
      * @return the command path as a string
      */
     public String getCommand() {
-        return String.join(".", commandPath);
+        return commandPath;
     }
 
     /**
@@ -1,16 +1,23 @@
 package core.cli.commands;
 
 import core.cli.arguments.ArgumentList;
+import core.cli.arguments.ArgumentValues;
 import core.manager.GlobalManager;
 import core.instances.ListOfKVs;
 import features.auth.data.UserManager;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
 /**
  * Abstract class representing a command instance in the command-line interface.
  * It contains the command's name, description, example usage, argument list, and a handler for execution.
  * It also supports nested subcommands and provides methods for executing the command and retrieving its full path.
+ * <p>
+ * Sub-commands are indexed by name when the command is constructed, so resolving a sub-command is a single hash lookup,
+ * and the full path of the command is computed once and cached, since the command tree never changes after registration.
  */
 public abstract class CommandInstance {
     private final String name;
@@ -19,9 +26,14 @@ public abstract class CommandInstance {
     private final ArgumentList args;
     private final boolean hasSubCommands;
     private final CommandInstance[] subCommands;
+    private final HashMap<String, CommandInstance> subCommandsByName = new HashMap<>();
     private final Handler handler;
     private CommandInstance parentCommand = null;
 
+    // Computed on first use, once the command tree is complete
+    private List<String> fullPath;
+    private String fullPathString;
+
     private boolean authRequired = false;
 
     /**
@@ -47,6 +59,7 @@ public abstract class CommandInstance {
             this.subCommands = subCommands;
             for (CommandInstance subCommand : subCommands) {
                 subCommand.setParentCommand(this); // Set the parent command for each subcommand
+                subCommandsByName.put(subCommand.getName(), subCommand);
             }
 
             this.hasSubCommands = true;
@@ -129,6 +142,8 @@ public abstract class CommandInstance {
 
     public void setParentCommand(CommandInstance parentCommand) {
         this.parentCommand = parentCommand;
+        this.fullPath = null;
+        this.fullPathString = null;
     }
 
     public boolean isAuthRequired() {
@@ -141,23 +156,25 @@ public abstract class CommandInstance {
 
     /**
      * This function will validate the parsed command arguments, then turn them into a map
-     * This map will then be assigned to the handler's argsMap field that can be used inside the handler.
+     * This map will then be assigned to the handler's argsMap field that can be used inside the handler,
+     * along with the typed values of the arguments in its args field.
      * It will then call the handler's run method to execute the command with the provided arguments.
      *
      * @param parsedCommand the parsed command containing arguments
      */
     public void execute(CommandParser.ParsedCommand parsedCommand) {
-        ListOfKVs<String, String> argsMap = CommandParser.validateAndGenerateArgsMap(
+        ArgumentValues args = CommandParser.validateAndParseArgs(
                 parsedCommand,
                 this.getArgs(),
-                String.join(".", getFullPath())
+                getFullPathString()
             );
 
         if (getHandler() == null) {
             throw new IllegalStateException("Handler is not set for command: " + getName());
         }
 
-        getHandler().argsMap = argsMap;
+        getHandler().args = args;
+        getHandler().argsMap = args.getRawValues();
         getHandler().run();
     }
 
@@ -180,52 +197,67 @@ public abstract class CommandInstance {
      */
     public CommandInstance getSubCommandByName(String name) {
         if (!isHasSubCommands()) {
-            throw new CommandError(getFullPath(), "Command " + this.getName() + " does not have sub-commands.");
+            throw new CommandError(getFullPathString(), "Command " + this.getName() + " does not have sub-commands.");
         }
 
-        for (CommandInstance subCommand : getSubCommands()) {
-            if (subCommand.getName().equals(name)) {
-                if (subCommand.isDisabled()) {
-                    throw new CommandError(
-                        subCommand.getFullPath(),
-                        "Command is not accessible: " + subCommand.getName()
-                    );
-                }
+        CommandInstance subCommand = subCommandsByName.get(name);
+        if (subCommand == null) {
+            throw new CommandError(
+                getFullPathString(),
+                "Sub-command '" + name + "' not found in command: " + this.getName()
+            );
+        }
 
-                return subCommand;
-            }
+        if (subCommand.isDisabled()) {
+            throw new CommandError(
+                subCommand.getFullPathString(),
+                "Command is not accessible: " + subCommand.getName()
+            );
         }
 
-        throw new CommandError(
-            getFullPath(),
-            "Sub-command '" + name + "' not found in command: " + this.getName()
-        );
+        return subCommand;
     }
 
     /**
      * Retrieves the full path of the command, including its parent commands.
-     * This method constructs a list of command names from the current command up to the root command.
+     * The path is built once, from the root command down to this command, and cached.
      *
-     * @return an ArrayList containing the full path of command names
+     * @return an unmodifiable list containing the full path of command names
      */
-    public ArrayList<String> getFullPath() {
-        CommandInstance currentCommand = this;
-        ArrayList<String> path = new ArrayList<>();
+    public List<String> getFullPath() {
+        if (fullPath == null) {
+            ArrayList<String> path = parentCommand != null
+                    ? new ArrayList<>(parentCommand.getFullPath())
+                    : new ArrayList<>();
+            path.add(getName());
+
+            fullPath = Collections.unmodifiableList(path);
+        }
 
-        while (currentCommand != null) {
-            path.add(0, currentCommand.getName());
-            currentCommand = currentCommand.getParentCommand();
+        return fullPath;
+    }
+
+    /**
+     * Retrieves the full path of the command as a single string, with the command names separated by dots.
+     *
+     * @return the full path, e.g. "footprint.data.export"
+     */
+    public String getFullPathString() {
+        if (fullPathString == null) {
+            fullPathString = String.join(".", getFullPath());
         }
 
-        return path;
+        return fullPathString;
     }
 
     /**
      * Abstract class representing a handler for a command.
      * It contains a map of arguments and an abstract run method that must be implemented by subclasses.
+     * Numbers and flags are best read from args, which holds the values already parsed during validation.
      */
     public abstract static class Handler {
         protected ListOfKVs<String, String> argsMap;
+        protected ArgumentValues args;
 
         public abstract void run();
     }
@@ -1,12 +1,12 @@
 package core.cli.commands;
 
 import core.cli.arguments.*;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import core.instances.ListOfKVs;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Scanner;
 
 /**
  * CommandParser is responsible for parsing raw command-line arguments into structured command and argument objects.
@@ -71,6 +71,22 @@ public class CommandParser {
             ParsedCommand parsedCommand,
             ArgumentList allowedArguments,
             String commandPath
+    ) {
+        return validateAndParseArgs(parsedCommand, allowedArguments, commandPath).getRawValues();
+    }
+
+    /**
+     * Validates the parsed command arguments against the allowed argument definitions,
+     * and converts each of them to the typed value of its data type in the same pass.
+     *
+     * @param parsedCommand    The parsed command containing the command name, positional and keyword arguments.
+     * @param allowedArguments The allowed argument definitions (positional and keyword).
+     * @return The raw and typed values of the arguments, mapped by the argument names.
+     */
+    public static ArgumentValues validateAndParseArgs(
+            ParsedCommand parsedCommand,
+            ArgumentList allowedArguments,
+            String commandPath
     ) {
         if (allowedArguments == null) {
             allowedArguments = new ArgumentList();
@@ -79,7 +95,7 @@ public class CommandParser {
         PositionalArgument[] positionalArgs = allowedArguments.getPositionalArguments();
         KeywordArgument[] keywordArgs = allowedArguments.getKeywordArguments();
 
-        ListOfKVs<String, String> argsMap = new ListOfKVs<>();
+        ArgumentValues argsMap = new ArgumentValues();
         boolean positionalArgsNeedPrompting = false;
 
         if (parsedCommand.getPositionalArgs().length != 0) {
@@ -252,21 +268,21 @@ public class CommandParser {
      */
     private static void promptPositionalArgs(
             PositionalArgument[] allowedPositionalArgs,
-            ListOfKVs<String, String> argsMap
+            ArgumentValues argsMap
     ) {
-        Scanner scanner = new Scanner(System.in);
+        InputSource inputSource = InputSource.getInstance();
         for (PositionalArgument positionalArgs : allowedPositionalArgs) {
             while (true) {
                 System.out.print(positionalArgs.getPromptText() + " ");
-                String input = scanner.nextLine().trim();
-                ArgumentDataType dataType = positionalArgs.getDataType();
+                String input = inputSource.nextLine().trim();
+                Object value = positionalArgs.getDataType().parse(input);
 
-                if (dataType.isInvalid(input)) {
+                if (value == null) {
                     printArgsError(positionalArgs, true);
                     continue;
                 }
 
-                argsMap.put(positionalArgs.getName(), input);
+                argsMap.put(positionalArgs.getName(), input, value);
                 break;
             }
         }
@@ -285,7 +301,7 @@ public class CommandParser {
     private static void validateAndMapPositionalArgs(
             ParsedCommand parsedCommand,
             PositionalArgument[] positionalArgs,
-            ListOfKVs<String, String> argsMap,
+            ArgumentValues argsMap,
             String commandPath
     ) {
         // Check if the number of positional arguments matches the expected count
@@ -318,12 +334,12 @@ public class CommandParser {
             String argValue = parsedCommand.getPositionalArgs()[i];
 
             // Check if the argument value matches the expected data type
-            ArgumentDataType targetDataType = positionalArgs[i].getDataType();
-            if (targetDataType.isInvalid(argValue)) {
+            Object value = positionalArgs[i].getDataType().parse(argValue);
+            if (value == null) {
                 printArgsError(positionalArgs[i]);
             }
 
-            argsMap.put(argName, argValue);
+            argsMap.put(argName, argValue, value);
         }
     }
 
@@ -371,9 +387,11 @@ public class CommandParser {
     private static void validateAndMapKeywordArgs(
             ParsedCommand parsedCommand,
             KeywordArgument[] keywordArgs,
-            ListOfKVs<String, String> argsMap,
+            ArgumentValues argsMap,
             String commandPath
     ) {
+        ListOfKVs<String, String> providedArgs = parsedCommand.getKeywordArgs();
+
         for (KeywordArgument requiredArgument : keywordArgs) {
             ListOfKVs.Entry<String, String> targetArg = null;
 
@@ -381,19 +399,13 @@ public class CommandParser {
             String targetAbbreviation = requiredArgument.getAbbreviation();
             ArgumentDataType targetDataType = requiredArgument.getDataType();
 
-            for (ListOfKVs.Entry<String, String> arg : parsedCommand.getKeywordArgs().entries()) {
-                String argName = arg.getKey();
-
-                // Check if the argument matches either the full name or the abbreviation
-                // If the argument has more than one character, we check the full name, otherwise the abbreviation
-                boolean commandFound = argName.length() > 1 ?
-                        argName.equals(targetName) :
-                        argName.equals(targetAbbreviation);
-
-                if (commandFound) {
-                    targetArg = arg;
-                    break;
-                }
+            // Check if the argument matches either the full name or the abbreviation
+            // Arguments with more than one character are matched by full name, otherwise by abbreviation
+            if (targetName.length() > 1) {
+                targetArg = providedArgs.getEntry(targetName);
+            }
+            if (targetArg == null && targetAbbreviation != null && targetAbbreviation.length() == 1) {
+                targetArg = providedArgs.getEntry(targetAbbreviation);
             }
 
             if (targetArg == null) {
@@ -407,11 +419,12 @@ public class CommandParser {
                 );
             }
 
-            if (targetDataType.isInvalid(targetArg.getValue())) {
+            Object value = targetDataType.parse(targetArg.getValue());
+            if (value == null) {
                 printArgsError(requiredArgument);
             }
 
-            argsMap.put(targetName, targetArg.getValue());
+            argsMap.put(targetName, targetArg.getValue(), value);
         }
     }
 
@@ -10,7 +10,11 @@ import features.terminal.commands.ClearScreenCommand;
 import features.terminal.commands.ExitCommand;
 import features.terminal.commands.HelpCommand;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * CommandRegistrar is responsible for registering all commands available in the application.
@@ -37,20 +41,36 @@ public class CommandRegistrar {
             })
     };
 
+    // Index of every registered command by its full path, built once at class initialization
+    private static final Map<String, CommandInstance> commandsByPath;
+
     /*
-     * Static block to ensure that all command names are unique across all registered commands.
+     * Static block to ensure that all command names are unique across all registered commands,
+     * and to index every command of the tree by its full path.
      * If a duplicate command name is found, an IllegalArgumentException is thrown.
      */
     static {
-        ArrayList<String> commandNames = new ArrayList<>();
+        HashMap<String, CommandInstance> index = new HashMap<>();
         for (CommandNamespace namespace : commandInstances) {
             for (CommandInstance command : namespace.getCommands()) {
-                if (commandNames.contains(command.getName())) {
+                // Top-level commands are matched case-insensitively
+                if (index.containsKey(command.getName().toLowerCase(Locale.ROOT))) {
                     throw new IllegalArgumentException("Duplicate command name found: " + command.getName());
                 }
-                commandNames.add(command.getName());
+                indexCommand(index, command);
             }
         }
+
+        commandsByPath = Collections.unmodifiableMap(index);
+    }
+
+    private static void indexCommand(HashMap<String, CommandInstance> index, CommandInstance command) {
+        String path = command.getFullPathString();
+        index.put(command.getParentCommand() == null ? path.toLowerCase(Locale.ROOT) : path, command);
+
+        for (CommandInstance subCommand : command.getSubCommands()) {
+            indexCommand(index, subCommand);
+        }
     }
 
     /**
@@ -62,18 +82,67 @@ public class CommandRegistrar {
      * @throws IllegalArgumentException if the command is not enabled
      */
     public static CommandInstance getCommandByName(String name) {
-        for (CommandNamespace commandNamespace : commandInstances) {
-            for (CommandInstance command : commandNamespace.getCommands()) {
-                if (command.getName().equalsIgnoreCase(name)) {
-                    if (command.isDisabled()) {
-                        throw new IllegalArgumentException("Command is not accessible: " + name);
-                    }
-
-                    return command;
-                }
+        CommandInstance command = name != null ? commandsByPath.get(name.toLowerCase(Locale.ROOT)) : null;
+        if (command == null || command.getParentCommand() != null) {
+            throw new IllegalArgumentException("Command not found: " + name);
+        }
+
+        if (command.isDisabled()) {
+            throw new IllegalArgumentException("Command is not accessible: " + name);
+        }
+
+        return command;
+    }
+
+    /**
+     * Retrieves a CommandInstance by its full path, such as "footprint.data.export", in a single lookup.
+     * The name of the top-level command is matched case-insensitively, the names of sub-commands exactly.
+     * Whether the command is enabled is not checked.
+     *
+     * @param fullPath the full path of the command, with the command names separated by dots
+     * @return the CommandInstance, or null if no command has this path
+     */
+    public static CommandInstance getCommandByPath(String fullPath) {
+        int rootEnd = fullPath.indexOf('.');
+        if (rootEnd == -1) {
+            return commandsByPath.get(fullPath.toLowerCase(Locale.ROOT));
+        }
+
+        return commandsByPath.get(fullPath.substring(0, rootEnd).toLowerCase(Locale.ROOT) + fullPath.substring(rootEnd));
+    }
+
+    /**
+     * Resolves the command to execute from a parsed command, following the sub-command names
+     * at the start of its positional arguments. Each level is a single hash lookup.
+     * The sub-command names are removed from the positional arguments, and the name of the resolved
+     * command becomes the command of the parsed command.
+     *
+     * @param parsedCommand the parsed command
+     * @return the command to execute, which has no sub-commands
+     * @throws IllegalArgumentException if the top-level command is not found or not enabled
+     * @throws CommandError             if a sub-command is missing, not found or not accessible
+     */
+    public static CommandInstance resolveCommand(CommandParser.ParsedCommand parsedCommand) {
+        CommandInstance command = getCommandByName(parsedCommand.getCommand());
+        String[] positionalArgs = parsedCommand.getPositionalArgs();
+
+        int consumed = 0;
+        while (command.isHasSubCommands()) {
+            if (consumed == positionalArgs.length) {
+                throw new CommandError(
+                        command.getFullPathString(),
+                        "Command: " + command.getName() + " requires a sub-command."
+                );
             }
+
+            command = command.getSubCommandByName(positionalArgs[consumed++]);
+        }
+
+        if (consumed > 0) {
+            parsedCommand.setCommand(command.getName());
+            parsedCommand.setPositionalArgs(Arrays.copyOfRange(positionalArgs, consumed, positionalArgs.length));
         }
 
-        throw new IllegalArgumentException("Command not found: " + name);
+        return command;
     }
 }
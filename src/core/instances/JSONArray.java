@@ -0,0 +1,100 @@
+package core.instances;
+
+import core.io.JSONWriter;
+
+import java.util.ArrayList;
+
+/**
+ * A JSON array counterpart of {@link JSONObject}.
+ * Holds an ordered list of values, each of which can be a string, number, boolean, null,
+ * a nested {@link JSONObject} or another JSONArray.
+ */
+public class JSONArray {
+    private final ArrayList<Object> values = new ArrayList<>();
+
+    /**
+     * Appends a value to the end of the array.
+     * Supported types are String, Integer, Long, Double, Boolean, null, JSONObject and JSONArray.
+     *
+     * @param value the value to append
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    public void add(Object value) {
+        values.add(JSONObject.checkValue(value));
+    }
+
+    /**
+     * Retrieves the raw value at the specified position.
+     *
+     * @param index the position of the value
+     * @return the value at the given position
+     */
+    public Object get(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Retrieves a string value at the specified position.
+     *
+     * @param index the position of the value
+     * @return the string value, or null if the value is not a string
+     */
+    public String getString(int index) {
+        Object value = values.get(index);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Retrieves a numeric value at the specified position as a double.
+     *
+     * @param index the position of the value
+     * @return the numeric value, or null if the value is not a number
+     */
+    public Double getDouble(int index) {
+        Object value = values.get(index);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    /**
+     * Retrieves a nested object at the specified position.
+     *
+     * @param index the position of the value
+     * @return the nested object, or null if the value is not an object
+     */
+    public JSONObject getObject(int index) {
+        Object value = values.get(index);
+        return value instanceof JSONObject ? (JSONObject) value : null;
+    }
+
+    /**
+     * Retrieves a nested array at the specified position.
+     *
+     * @param index the position of the value
+     * @return the nested array, or null if the value is not an array
+     */
+    public JSONArray getArray(int index) {
+        Object value = values.get(index);
+        return value instanceof JSONArray ? (JSONArray) value : null;
+    }
+
+    /**
+     * Gets the number of values in the array.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Returns a string representation of this array in JSON format.
+     *
+     * @return the JSON string representation of this array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        new JSONWriter(sb).value(this);
+        return sb.toString();
+    }
+}
@@ -1,14 +1,42 @@
 package core.instances;
 
+import core.io.JSONParser;
+import core.io.JSONWriter;
+
+import java.io.Reader;
+import java.util.List;
+
 /**
  * After some research, I found that there is no built-in JSON object in Java for some reason.
  * So, I've implemented a simple JSON object class that can handle basic JSON operations.
- * It does not support nested objects or arrays, but it can handle strings, integers, doubles, and booleans.
- * (Why? Because if I want to implement a full JSON parser, my sanity will be completely destroyed.)
+ * It handles strings, integers, longs, doubles, booleans, nulls, nested objects and {@link JSONArray}s.
+ * Parsing and serialization are done by {@link JSONParser} and {@link JSONWriter}.
  */
 public class JSONObject {
     private ListOfKVs<String, Object> map = new ListOfKVs<>();
 
+    /**
+     * Checks that a value can be stored in a JSON object or array.
+     *
+     * @param value the value to check
+     * @return the same value
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    static Object checkValue(Object value) {
+        if (value == null
+                || value instanceof String
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Double
+                || value instanceof Boolean
+                || value instanceof JSONObject
+                || value instanceof JSONArray) {
+            return value;
+        }
+
+        throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getSimpleName());
+    }
+
     /**
      * Puts a string value into the JSON object with the specified key.
      *
@@ -49,6 +77,66 @@ public class JSONObject {
         map.put(key, value);
     }
 
+    /**
+     * Puts a long value into the JSON object with the specified key.
+     *
+     * @param key   the key to associate with the value
+     * @param value the long value to store
+     */
+    public void put(String key, long value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Puts a nested JSON object into the JSON object with the specified key.
+     *
+     * @param key   the key to associate with the value
+     * @param value the nested object to store
+     */
+    public void put(String key, JSONObject value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Puts a JSON array into the JSON object with the specified key.
+     *
+     * @param key   the key to associate with the value
+     * @param value the array to store
+     */
+    public void put(String key, JSONArray value) {
+        map.put(key, value);
+    }
+
+    /**
+     * Puts a value of any supported type into the JSON object with the specified key.
+     *
+     * @param key   the key to associate with the value
+     * @param value a String, Integer, Long, Double, Boolean, null, JSONObject or JSONArray
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    public void putValue(String key, Object value) {
+        map.put(key, checkValue(value));
+    }
+
+    /**
+     * Checks whether the JSON object contains the specified key.
+     *
+     * @param key the key to look for
+     * @return true if the key is present, even if its value is null
+     */
+    public boolean containsKey(String key) {
+        return map.getEntry(key) != null;
+    }
+
+    /**
+     * Gets the key-value pairs of this object, in insertion order.
+     *
+     * @return a read-only list of the entries
+     */
+    public List<ListOfKVs.Entry<String, Object>> entries() {
+        return map.entries();
+    }
+
     /**
      * Retrieves a string value associated with the specified key.
      *
@@ -71,6 +159,18 @@ public class JSONObject {
         return value instanceof Integer ? (Integer) value : null;
     }
 
+    /**
+     * Retrieves a long value associated with the specified key.
+     * Integers are widened, since small numbers are parsed as Integer.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the long value, or null if not found or not an integer number
+     */
+    public Long getLong(String key) {
+        Object value = map.get(key);
+        return value instanceof Long || value instanceof Integer ? ((Number) value).longValue() : null;
+    }
+
     /**
      * Retrieves a double value associated with the specified key.
      *
@@ -93,54 +193,57 @@ public class JSONObject {
         return value instanceof Boolean ? (Boolean) value : null;
     }
 
+    /**
+     * Retrieves a nested JSON object associated with the specified key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the nested object, or null if not found or not an object
+     */
+    public JSONObject getObject(String key) {
+        Object value = map.get(key);
+        return value instanceof JSONObject ? (JSONObject) value : null;
+    }
+
+    /**
+     * Retrieves a JSON array associated with the specified key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the array, or null if not found or not an array
+     */
+    public JSONArray getArray(String key) {
+        Object value = map.get(key);
+        return value instanceof JSONArray ? (JSONArray) value : null;
+    }
+
     /**
      * Parses a JSON-formatted string and populates this object with its key-value pairs.
-     * Only supports flat JSON objects with string, integer, double, boolean, or null values.
+     * The current content is only replaced once the whole string has been parsed successfully.
      *
      * @param json the JSON string to parse
      * @throws IllegalArgumentException if the JSON is invalid or contains unsupported types
      */
-    public void parseFromString(String json) {
-        ListOfKVs<String, Object> newMap = new ListOfKVs<>();
-
-        json = json.trim();
-
-        if (!json.startsWith("{") || !json.endsWith("}")) {
-            throw new IllegalArgumentException("Invalid JSON object");
-        }
+    public void parseFromString(CharSequence json) {
+        map = new JSONParser(json).parseObject().map;
+    }
 
-        String content = json.substring(1, json.length() - 1).trim();
-        if (content.isEmpty()) return;
-
-        String[] pairs = content.split(",\\s*");
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(":", 2);
-            if (keyValue.length != 2) {
-                throw new IllegalArgumentException("Invalid key-value pair: " + pair);
-            }
-
-            String key = keyValue[0].trim().replace("\"", "");
-            String value = keyValue[1].trim();
-
-            if (value.startsWith("\"") && value.endsWith("\"")) {
-                newMap.put(key, value.substring(1, value.length() - 1));
-            } else if (value.equals("true") || value.equals("false")) {
-                newMap.put(key, Boolean.parseBoolean(value));
-            } else if (value.equals("null")) {
-                newMap.put(key, null);
-            } else if (value.matches("-?\\d+")) {
-                newMap.put(key, Integer.parseInt(value));
-            } else if (value.matches("-?\\d+(\\.\\d+)?")) {
-                newMap.put(key, Double.parseDouble(value));
-            } else if (value.matches("[a-zA-Z0-9_]+")) {
-                // Handle unquoted alphanumeric strings (like challenge IDs)
-                newMap.put(key, value);
-            } else {
-                throw new IllegalArgumentException("Unsupported value type: " + value);
-            }
-        }
+    /**
+     * Parses JSON read from a Reader and populates this object with its key-value pairs.
+     * The text is consumed as it is read, without being loaded into a single String first.
+     *
+     * @param reader the reader providing the JSON text
+     * @throws IllegalArgumentException if the JSON is invalid or contains unsupported types
+     */
+    public void parseFromReader(Reader reader) {
+        map = new JSONParser(reader).parseObject().map;
+    }
 
-        map = newMap;
+    /**
+     * Writes this JSON object to the given target without building an intermediate String.
+     *
+     * @param out the target to write to
+     */
+    public void writeTo(Appendable out) {
+        new JSONWriter(out).value(this);
     }
 
     /**
@@ -150,29 +253,7 @@ public class JSONObject {
      */
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        boolean first = true;
-        for (String key : map.keys()) {
-            if (!first) {
-                sb.append(", ");
-            }
-
-            Object value = map.get(key);
-            sb.append("\"").append(key).append("\": ");
-            
-            // Properly format values based on their type
-            if (value instanceof String) {
-                sb.append("\"").append(value).append("\"");
-            } else if (value == null) {
-                sb.append("null");
-            } else {
-                sb.append(value);
-            }
-            
-            first = false;
-        }
-        sb.append("}");
-
+        writeTo(sb);
         return sb.toString();
     }
 }
@@ -1,19 +1,37 @@
 package core.instances;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Since the project does not allow the use of Java's built-in data structure interface, I'll just implement it myself :)
- * A simple data structure using an ArrayList to store key-value pairs.
+ * A simple data structure that stores key-value pairs in insertion order.
+ * <p>
+ * Entries are kept in an ArrayList to preserve their order, while an open-addressing hash table
+ * (linear probing over entry positions) is used to look keys up in constant time.
  *
  * @param <K> the type of keys maintained by this data structure
  * @param <V> the type of mapped values
  */
 public class ListOfKVs<K, V> {
+    private static final int INITIAL_CAPACITY = 8;
+
     private final ArrayList<Entry<K, V>> entries;
+    private final List<Entry<K, V>> entriesView;
+    private final List<K> keysView;
+
+    // Each slot holds (position of the entry in the list + 1), 0 marks an empty slot.
+    // The table is always kept at most half full so probe sequences stay short.
+    private int[] table;
 
     public ListOfKVs() {
         this.entries = new ArrayList<>();
+        this.entriesView = Collections.unmodifiableList(entries);
+        this.keysView = new KeysView();
+        this.table = new int[INITIAL_CAPACITY];
     }
 
     /**
@@ -23,13 +41,28 @@ public class ListOfKVs<K, V> {
      * @param value the value to associate with the key
      */
     public void put(K key, V value) {
-        for (Entry<K, V> entry : entries) {
-            if (entry.getKey().equals(key)) {
+        int hash = hash(key);
+        int mask = table.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int position = table[slot];
+
+            if (position == 0) {
+                entries.add(new Entry<>(key, value, hash));
+                table[slot] = entries.size();
+
+                if (entries.size() * 2 > table.length) {
+                    rebuildTable(table.length * 2);
+                }
+                return;
+            }
+
+            Entry<K, V> entry = entries.get(position - 1);
+            if (entry.hash == hash && Objects.equals(entry.getKey(), key)) {
                 entry.setValue(value);
                 return;
             }
         }
-        entries.add(new Entry<>(key, value));
     }
 
     /**
@@ -40,21 +73,36 @@ public class ListOfKVs<K, V> {
      * @return the value associated with the specified key, or null if the key does not exist
      */
     public V get(K key) {
-        for (Entry<K, V> entry : entries) {
-            if (entry.getKey().equals(key)) {
-                return entry.getValue();
+        Entry<K, V> entry = getEntry(key);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Retrieves the entry associated with the specified key.
+     * Useful when the stored value itself may be null (e.g. flag arguments).
+     *
+     * @param key the key whose entry is to be returned
+     * @return the entry associated with the specified key, or null if the key does not exist
+     */
+    public Entry<K, V> getEntry(K key) {
+        int hash = hash(key);
+        int mask = table.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int position = table[slot];
+            if (position == 0) {
+                return null;
+            }
+
+            Entry<K, V> entry = entries.get(position - 1);
+            if (entry.hash == hash && Objects.equals(entry.getKey(), key)) {
+                return entry;
             }
         }
-        return null;
     }
 
     public boolean containsKey(K key) {
-        for (Entry<K, V> entry : entries) {
-            if (entry.getKey().equals(key)) {
-                return true;
-            }
-        }
-        return false;
+        return getEntry(key) != null;
     }
 
     @SuppressWarnings("unchecked")
@@ -66,17 +114,13 @@ public class ListOfKVs<K, V> {
 
             return 0; // If values are not comparable, do not change order
         });
+
+        rebuildTable(table.length);
     }
 
     public void reverse() {
-        ArrayList<Entry<K, V>> reversedEntries = new ArrayList<>();
-
-        for (int i = entries.size() - 1; i >= 0; i--) {
-            reversedEntries.add(entries.get(i));
-        }
-
-        entries.clear();
-        entries.addAll(reversedEntries);
+        Collections.reverse(entries);
+        rebuildTable(table.length);
     }
 
     /**
@@ -89,21 +133,22 @@ public class ListOfKVs<K, V> {
     }
 
     /**
-     * Returns a list of all entries in the data structure.
+     * Returns a read-only view of all entries in the data structure, in insertion order.
+     * The view reflects later changes to this data structure and is not copied on each call.
      *
      * @return a list of entries, where each entry is a key-value pair
      */
-    public ArrayList<Entry<K, V>> entries() {
-        return new ArrayList<>(entries);
+    public List<Entry<K, V>> entries() {
+        return entriesView;
     }
 
-    public ArrayList<K> keys() {
-        ArrayList<K> keys = new ArrayList<>();
-        for (Entry<K, V> entry : entries) {
-            keys.add(entry.getKey());
-        }
-
-        return keys;
+    /**
+     * Returns a read-only view of all keys in the data structure, in insertion order.
+     *
+     * @return a list of keys
+     */
+    public List<K> keys() {
+        return keysView;
     }
 
     public V[] values() {
@@ -117,6 +162,53 @@ public class ListOfKVs<K, V> {
         return values;
     }
 
+    /**
+     * Re-creates the hash table from the current order of the entries list.
+     * Must be called whenever entries are moved around, since the table stores list positions.
+     *
+     * @param capacity the new table capacity, must be a power of two
+     */
+    private void rebuildTable(int capacity) {
+        int[] newTable = new int[capacity];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < entries.size(); i++) {
+            int slot = entries.get(i).hash & mask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = i + 1;
+        }
+
+        table = newTable;
+    }
+
+    /**
+     * Spreads the higher bits of the key's hash code downwards, since the table index only uses the lower bits.
+     *
+     * @param key the key to hash
+     * @return the spread hash code
+     */
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Read-only list of keys backed by the entries list.
+     */
+    private class KeysView extends AbstractList<K> {
+        @Override
+        public K get(int index) {
+            return entries.get(index).getKey();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+
     /**
      * Represents a key-value pair entry in the {@link ListOfKVs}.
      *
@@ -125,6 +217,7 @@ public class ListOfKVs<K, V> {
      */
     public static class Entry<K, V> {
         private final K key;
+        private final int hash;
         private V value;
 
         /**
@@ -132,10 +225,12 @@ public class ListOfKVs<K, V> {
          *
          * @param key   the key for this entry
          * @param value the value for this entry
+         * @param hash  the spread hash code of the key
          */
-        Entry(K key, V value) {
+        Entry(K key, V value, int hash) {
             this.key = key;
             this.value = value;
+            this.hash = hash;
         }
 
         public K getKey() {
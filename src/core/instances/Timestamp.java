@@ -9,8 +9,18 @@ package core.instances;
 public class Timestamp {
     private long timestamp;
 
-    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
     private static final long TZ_OFFSET_MS = 8 * 3600 * 1000L;
+    private static final long MS_PER_DAY = 86400L * 1000L;
+
+    // Date and time components, decomposed lazily from the timestamp and reset whenever it changes
+    private boolean decomposed = false;
+    private int year;
+    private int month;
+    private int day;
+    private int hour;
+    private int minute;
+    private int second;
+    private int millisecond;
 
     /**
      * Constructs a Timestamp representing the current system time.
@@ -44,60 +54,113 @@ public class Timestamp {
      */
     public void setTimestamp(long timestamp) {
         this.timestamp = timestamp;
+        this.decomposed = false;
     }
 
     /**
-     * Determines if the specified year is a leap year.
+     * Gets the local (Malaysia time zone) day of this timestamp, counted in days since 1970-01-01.
+     * Two timestamps fall on the same calendar day exactly when their epoch days are equal.
      *
-     * @param year the year to check
-     * @return true if leap year, false otherwise
+     * @return the epoch day
      */
-    private static boolean isLeap(int year) {
-        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
+    public long epochDay() {
+        return toEpochDay(timestamp);
     }
 
     /**
-     * Breaks down the timestamp into its date and time components, adjusted for Malaysia time zone.
+     * Converts epoch milliseconds to the local (Malaysia time zone) epoch day.
      *
-     * @return an array containing year, month, day, hour, minute, second, millisecond
+     * @param timestamp the epoch milliseconds
+     * @return the number of days since 1970-01-01 in local time
      */
-    private int[] breakDown() {
-        long ms = timestamp + TZ_OFFSET_MS;
-        long totalSeconds = ms / 1000;
-        int milli = (int) (ms % 1000);
-
-        long days = totalSeconds / 86400;
-        int secOfDay = (int) (totalSeconds % 86400);
-
-        int year = 1970;
-        while (true) {
-            int daysInYear = isLeap(year) ? 366 : 365;
-            if (days >= daysInYear) {
-                days -= daysInYear;
-                year++;
-            } else {
-                break;
-            }
+    public static long toEpochDay(long timestamp) {
+        return Math.floorDiv(timestamp + TZ_OFFSET_MS, MS_PER_DAY);
+    }
+
+    /**
+     * Converts a local (Malaysia time zone) epoch day to the epoch milliseconds of its midnight.
+     *
+     * @param epochDay the number of days since 1970-01-01 in local time
+     * @return the epoch milliseconds at 00:00:00.000 of that day
+     */
+    public static long startOfEpochDay(long epochDay) {
+        return epochDay * MS_PER_DAY - TZ_OFFSET_MS;
+    }
+
+    /**
+     * Parses a local (Malaysia time zone) date in the format yyyy-MM-dd.
+     *
+     * @param date the date to parse
+     * @return the epoch day of the date
+     * @throws IllegalArgumentException if the date is not in the format yyyy-MM-dd or does not exist
+     */
+    public static long parseEpochDay(String date) {
+        if (date == null || !date.matches("^\\d{4}-\\d{2}-\\d{2}$")) {
+            throw new IllegalArgumentException("Invalid date: " + date + ". Expected format: yyyy-MM-dd");
         }
 
-        int month = 1;
-        for (int i = 0; i < 12; i++) {
-            int dim = DAYS_IN_MONTH[i];
-            if (i == 1 && isLeap(year)) dim++;
-            if (days >= dim) {
-                days -= dim;
-                month++;
-            } else {
-                break;
-            }
+        int year = Integer.parseInt(date.substring(0, 4));
+        int month = Integer.parseInt(date.substring(5, 7));
+        int day = Integer.parseInt(date.substring(8, 10));
+
+        // Days past the end of the month would roll over, so the date must survive the round trip
+        Timestamp parsed = new Timestamp(startOfEpochDay(month >= 1 && month <= 12 ? daysFromCivil(year, month, day) : 0));
+        if (month < 1 || month > 12 || day < 1 || parsed.getMonth() != month || parsed.getDay() != day) {
+            throw new IllegalArgumentException("Invalid date: " + date + ". The date does not exist.");
         }
 
-        int day = (int) days + 1;
-        int hour = secOfDay / 3600;
-        int min = (secOfDay % 3600) / 60;
-        int sec = (secOfDay % 60);
+        return parsed.epochDay();
+    }
+
+    /**
+     * Converts a civil date to the number of days since 1970-01-01, in constant time.
+     * Days past the end of the month roll over into the following months.
+     * Based on Howard Hinnant's days_from_civil algorithm, using 400-year eras that start on March 1st.
+     *
+     * @param year  the year
+     * @param month the month (1-12)
+     * @param day   the day of the month, starting from 1
+     * @return the epoch day of the date
+     */
+    private static long daysFromCivil(long year, int month, long day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Decomposes the timestamp into its date and time components, adjusted for Malaysia time zone.
+     * The inverse of {@link #daysFromCivil(long, int, long)}, also in constant time.
+     */
+    private void decompose() {
+        if (decomposed) return;
 
-        return new int[]{year, month, day, hour, min, sec, milli};
+        long ms = timestamp + TZ_OFFSET_MS;
+        long days = Math.floorDiv(ms, MS_PER_DAY);
+        int msOfDay = (int) Math.floorMod(ms, MS_PER_DAY);
+
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+
+        day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        int secOfDay = msOfDay / 1000;
+        hour = secOfDay / 3600;
+        minute = (secOfDay % 3600) / 60;
+        second = secOfDay % 60;
+        millisecond = msOfDay % 1000;
+
+        decomposed = true;
     }
 
     /**
@@ -106,7 +169,8 @@ public class Timestamp {
      * @return the year
      */
     public int getYear() {
-        return breakDown()[0];
+        decompose();
+        return year;
     }
 
     /**
@@ -115,7 +179,8 @@ public class Timestamp {
      * @return the month
      */
     public int getMonth() {
-        return breakDown()[1];
+        decompose();
+        return month;
     }
 
     /**
@@ -124,7 +189,8 @@ public class Timestamp {
      * @return the day
      */
     public int getDay() {
-        return breakDown()[2];
+        decompose();
+        return day;
     }
 
     /**
@@ -133,10 +199,8 @@ public class Timestamp {
      * @return the day of the week (1=Monday, ..., 7=Sunday)
      */
     public int getDayOfWeek() {
-        long ms = timestamp + TZ_OFFSET_MS;
-        long totalDays = ms / (86400L * 1000L);
-
-        int dayOfWeek = (int) ((totalDays + 4) % 7);
+        // 1970-01-01 was a Thursday
+        int dayOfWeek = Math.toIntExact(Math.floorMod(epochDay() + 4, 7L));
         if (dayOfWeek == 0) return 7;
         return dayOfWeek;
     }
@@ -147,7 +211,8 @@ public class Timestamp {
      * @return the hour
      */
     public int getHour() {
-        return breakDown()[3];
+        decompose();
+        return hour;
     }
 
     /**
@@ -156,7 +221,8 @@ public class Timestamp {
      * @return the minute
      */
     public int getMinute() {
-        return breakDown()[4];
+        decompose();
+        return minute;
     }
 
     /**
@@ -165,7 +231,8 @@ public class Timestamp {
      * @return the second
      */
     public int getSecond() {
-        return breakDown()[5];
+        decompose();
+        return second;
     }
 
     /**
@@ -174,7 +241,8 @@ public class Timestamp {
      * @return the millisecond
      */
     public int getMillisecond() {
-        return breakDown()[6];
+        decompose();
+        return millisecond;
     }
 
     /**
@@ -252,18 +320,14 @@ public class Timestamp {
      * @param ms    the millisecond (0-999)
      */
     private void setDate(int year, int month, int day, int hour, int min, int sec, int ms) {
-        int days = 0;
-        for (int y = 1970; y < year; y++) {
-            days += isLeap(y) ? 366 : 365;
-        }
-        for (int m = 1; m < month; m++) {
-            days += DAYS_IN_MONTH[m - 1];
-            if (m == 2 && isLeap(year)) days += 1;
-        }
-        days += day - 1;
+        // Normalize out of range months into the year, e.g. month 13 becomes January of the next year
+        long normalizedYear = year + Math.floorDiv(month - 1, 12);
+        int normalizedMonth = Math.floorMod(month - 1, 12) + 1;
 
+        long days = daysFromCivil(normalizedYear, normalizedMonth, day);
         long totalSeconds = days * 86400L + hour * 3600L + min * 60L + sec;
         this.timestamp = totalSeconds * 1000L + ms - TZ_OFFSET_MS;
+        this.decomposed = false;
     }
 
     /**
@@ -279,35 +343,24 @@ public class Timestamp {
             case "year":
                 setYear(getYear() + amount);
                 break;
-            case "month": {
-                int y = getYear();
-                int m = getMonth() + amount;
-                while (m > 12) {
-                    m -= 12;
-                    y++;
-                }
-                while (m < 1) {
-                    m += 12;
-                    y--;
-                }
-                setYear(y);
-                setMonth(m);
-            }
-            break;
+            case "month":
+                // setDate carries the extra months into the year
+                setMonth(getMonth() + amount);
+                break;
             case "day":
-                this.timestamp += amount * 86400L * 1000L;
+                setTimestamp(timestamp + amount * MS_PER_DAY);
                 break;
             case "hour":
-                this.timestamp += amount * 3600L * 1000L;
+                setTimestamp(timestamp + amount * 3600L * 1000L);
                 break;
             case "minute":
-                this.timestamp += amount * 60L * 1000L;
+                setTimestamp(timestamp + amount * 60L * 1000L);
                 break;
             case "second":
-                this.timestamp += amount * 1000L;
+                setTimestamp(timestamp + amount * 1000L);
                 break;
             case "millisecond":
-                this.timestamp += amount;
+                setTimestamp(timestamp + amount);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid unit: " + unit);
@@ -333,7 +386,35 @@ public class Timestamp {
      */
     @Override
     public String toString() {
-        int[] v = breakDown();
-        return String.format("%04d-%02d-%02d %02d:%02d:%02d", v[0], v[1], v[2], v[3], v[4], v[5]);
+        return appendTo(new StringBuilder(19)).toString();
+    }
+
+    /**
+     * Appends the timestamp in the format yyyy-MM-dd HH:mm:ss to the given builder, without creating a string.
+     *
+     * @param sb the builder to append to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        decompose();
+        appendPadded(sb, year, 4).append('-');
+        appendPadded(sb, month, 2).append('-');
+        appendPadded(sb, day, 2).append(' ');
+        appendPadded(sb, hour, 2).append(':');
+        appendPadded(sb, minute, 2).append(':');
+        return appendPadded(sb, second, 2);
+    }
+
+    private static StringBuilder appendPadded(StringBuilder sb, int value, int digits) {
+        int bound = 1;
+        for (int i = 1; i < digits; i++) {
+            bound *= 10;
+        }
+
+        // One leading zero for each digit the value is short of
+        for (; bound > 1 && value >= 0 && value < bound; bound /= 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
     }
 }
@@ -1,18 +1,252 @@
 package core.io;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Since no third-party libraries are allowed, this CSVParser class is implemented
  * CSVParser is a simple utility class for reading and writing CSV files.
- * It provides methods to parse a CSV file into an ArrayList of String arrays
- * and to write a 2D array of Strings to a CSV file.
+ * <p>
+ * Parsing follows RFC 4180: fields may be quoted, quotes inside quoted fields are escaped by doubling them,
+ * and quoted fields may contain commas and line breaks. Both LF and CRLF line endings are accepted.
+ * <p>
+ * The streaming methods push each row to a {@link RowVisitor}, reusing the same {@link Row} buffer for
+ * every row, so large files can be processed without holding all of their rows in memory.
+ * Writing is done by {@link CSVWriter}.
  */
 public class CSVParser {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Receives the rows of a CSV input one at a time.
+     */
+    public interface RowVisitor {
+        /**
+         * Called once for every non-empty row of the input.
+         * The row object is reused for the next row, so it must not be kept after this method returns.
+         *
+         * @param row the current row
+         */
+        void visit(Row row);
+    }
+
+    /**
+     * A reusable buffer holding the fields of the current row.
+     */
+    public static final class Row {
+        private final StringBuilder chars = new StringBuilder();
+        private int[] fieldEnds = new int[8];
+        private int size = 0;
+        private int lineNumber = 0;
+
+        /**
+         * Gets the number of fields in the row.
+         *
+         * @return the number of fields
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Gets the line number the row starts on, counting from 1.
+         *
+         * @return the line number of the row
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets a field as a String.
+         *
+         * @param i the position of the field
+         * @return the unquoted field value
+         */
+        public String get(int i) {
+            return chars.substring(fieldStart(i), fieldEnd(i));
+        }
+
+        /**
+         * Gets the length of a field without creating a String for it.
+         *
+         * @param i the position of the field
+         * @return the number of characters in the field
+         */
+        public int length(int i) {
+            return fieldEnd(i) - fieldStart(i);
+        }
+
+        /**
+         * Parses a field as an int.
+         *
+         * @param i the position of the field
+         * @return the parsed value
+         * @throws NumberFormatException if the field is not a valid int
+         */
+        public int getInt(int i) {
+            long value = getLong(i);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + get(i) + "\"");
+            }
+
+            return (int) value;
+        }
+
+        /**
+         * Parses a field as a long straight from the row buffer, without creating a String for it.
+         *
+         * @param i the position of the field
+         * @return the parsed value
+         * @throws NumberFormatException if the field is not a valid long
+         */
+        public long getLong(int i) {
+            int start = fieldStart(i);
+            int end = fieldEnd(i);
+
+            boolean negative = start < end && chars.charAt(start) == '-';
+            int position = negative || (start < end && chars.charAt(start) == '+') ? start + 1 : start;
+            if (position == end) {
+                throw new NumberFormatException("For input string: \"" + get(i) + "\"");
+            }
+
+            long value = 0;
+            for (; position < end; position++) {
+                int digit = chars.charAt(position) - '0';
+                if (digit < 0 || digit > 9 || value < (Long.MIN_VALUE + digit) / 10) {
+                    throw new NumberFormatException("For input string: \"" + get(i) + "\"");
+                }
+                value = value * 10 - digit; // Accumulate negatively so Long.MIN_VALUE fits
+            }
+
+            if (!negative) {
+                if (value == Long.MIN_VALUE) {
+                    throw new NumberFormatException("For input string: \"" + get(i) + "\"");
+                }
+                value = -value;
+            }
+
+            return value;
+        }
+
+        /**
+         * Parses a field as a double.
+         *
+         * @param i the position of the field
+         * @return the parsed value
+         * @throws NumberFormatException if the field is not a valid double
+         */
+        public double getDouble(int i) {
+            return Double.parseDouble(get(i));
+        }
+
+        /**
+         * Copies the fields of the row into a new array.
+         *
+         * @return the fields of the row
+         */
+        public String[] toArray() {
+            String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = get(i);
+            }
+
+            return values;
+        }
+
+        private int fieldStart(int i) {
+            checkField(i);
+            return i == 0 ? 0 : fieldEnds[i - 1];
+        }
+
+        private int fieldEnd(int i) {
+            checkField(i);
+            return fieldEnds[i];
+        }
+
+        private void checkField(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Field " + i + " out of bounds for row of " + size + " fields on line " + lineNumber);
+            }
+        }
+
+        private void append(char c) {
+            chars.append(c);
+        }
+
+        private void endField() {
+            if (size == fieldEnds.length) {
+                fieldEnds = Arrays.copyOf(fieldEnds, size * 2);
+            }
+            fieldEnds[size++] = chars.length();
+        }
+
+        private void reset(int lineNumber) {
+            chars.setLength(0);
+            size = 0;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * Parses a CSV file, passing each row to the visitor as it is read.
+     *
+     * @param filePath the path to the CSV file
+     * @param visitor  the visitor receiving the rows
+     * @throws UncheckedIOException     if an error occurs while reading the file
+     * @throws IllegalArgumentException if the file is not valid CSV
+     */
+    public static void parseCSVFile(String filePath, RowVisitor visitor) {
+        try (Reader reader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8)) {
+            parse(reader, visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses CSV formatted text, passing each row to the visitor.
+     *
+     * @param csv     the CSV formatted text
+     * @param visitor the visitor receiving the rows
+     * @throws IllegalArgumentException if the text is not valid CSV
+     */
+    public static void parseCSVString(CharSequence csv, RowVisitor visitor) {
+        Parser parser = new Parser(visitor);
+        for (int i = 0; i < csv.length(); i++) {
+            parser.accept(csv.charAt(i));
+        }
+        parser.finish();
+    }
+
+    /**
+     * Parses CSV text from a Reader, passing each row to the visitor as it is read.
+     * The reader is not closed by this method.
+     *
+     * @param reader  the reader providing the CSV text
+     * @param visitor the visitor receiving the rows
+     * @throws IOException              if an error occurs while reading
+     * @throws IllegalArgumentException if the text is not valid CSV
+     */
+    public static void parse(Reader reader, RowVisitor visitor) throws IOException {
+        Parser parser = new Parser(visitor);
+        char[] buffer = new char[BUFFER_SIZE];
+
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            for (int i = 0; i < read; i++) {
+                parser.accept(buffer[i]);
+            }
+        }
+        parser.finish();
+    }
+
     /**
      * Parses a CSV file and returns its content as an ArrayList of String arrays.
      *
@@ -22,18 +256,7 @@ public class CSVParser {
      */
     public static ArrayList<String[]> parseCSVFile(String filePath) {
         ArrayList<String[]> data = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                data.add(values);
-            }
-
-        } catch (IOException e) {
-            throw new RuntimeException("Error reading CSV file: " + e.getMessage(), e);
-        }
+        parseCSVFile(filePath, row -> data.add(row.toArray()));
 
         return data;
     }
@@ -46,28 +269,128 @@ public class CSVParser {
      */
     public static ArrayList<String[]> parseCSVString(String csv) {
         ArrayList<String[]> result = new ArrayList<>();
-        String[] lines = csv.split("\n");
-
-        for (String line : lines) {
-            result.add(line.split(","));
-        }
+        parseCSVString(csv, row -> result.add(row.toArray()));
 
         return result;
     }
 
     /**
      * Converts a 2D array of Strings to a CSV formatted String.
+     * Fields containing commas, quotes or line breaks are quoted.
      *
      * @param data a 2D array of Strings to be converted
      * @return a String representing the CSV formatted data
      */
     public static String toCSVString(ArrayList<String[]> data) {
         StringBuilder sb = new StringBuilder();
+        CSVWriter writer = new CSVWriter(sb);
 
         for (String[] row : data) {
-            sb.append(String.join(",", row)).append("\n");
+            writer.writeRow(row);
         }
 
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * The RFC 4180 state machine, fed one character at a time.
+     */
+    private static final class Parser {
+        private final RowVisitor visitor;
+        private final Row row = new Row();
+
+        private int line = 1;
+        private boolean fieldStarted = false;
+        private boolean rowStarted = false;
+        private boolean inQuotes = false;
+        private boolean afterClosingQuote = false;
+        private boolean skipLineFeed = false;
+        private int quoteLine = 0;
+
+        private Parser(RowVisitor visitor) {
+            this.visitor = visitor;
+            row.reset(line);
+        }
+
+        private void accept(char c) {
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') return;
+            }
+
+            if (inQuotes) {
+                if (c == '"') {
+                    inQuotes = false;
+                    afterClosingQuote = true;
+                } else {
+                    if (c == '\n') line++;
+                    row.append(c);
+                }
+                return;
+            }
+
+            if (afterClosingQuote) {
+                afterClosingQuote = false;
+
+                if (c == '"') {
+                    // A doubled quote inside a quoted field is a literal quote
+                    row.append('"');
+                    inQuotes = true;
+                    return;
+                }
+
+                if (c != ',' && c != '\n' && c != '\r') {
+                    throw new IllegalArgumentException("Unexpected character '" + c + "' after closing quote on line " + line);
+                }
+            }
+
+            switch (c) {
+                case ',':
+                    row.endField();
+                    fieldStarted = false;
+                    rowStarted = true;
+                    break;
+                case '\r':
+                    skipLineFeed = true;
+                    endRow();
+                    break;
+                case '\n':
+                    endRow();
+                    break;
+                case '"':
+                    if (!fieldStarted) {
+                        inQuotes = true;
+                        fieldStarted = true;
+                        quoteLine = line;
+                        break;
+                    }
+                    // A quote in the middle of an unquoted field is kept as is
+                    row.append(c);
+                    break;
+                default:
+                    row.append(c);
+                    fieldStarted = true;
+            }
+        }
+
+        private void finish() {
+            if (inQuotes) {
+                throw new IllegalArgumentException("Unterminated quoted field starting on line " + quoteLine);
+            }
+
+            endRow();
+        }
+
+        private void endRow() {
+            if (rowStarted || fieldStarted) {
+                row.endField();
+                visitor.visit(row);
+            }
+
+            line++;
+            row.reset(line);
+            fieldStarted = false;
+            rowStarted = false;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package core.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSVWriter writes CSV rows field by field straight into an {@link Appendable},
+ * such as a StringBuilder or a Writer, or into a byte channel.
+ * Fields are quoted following RFC 4180 only when they contain a comma, a quote or a line break,
+ * so plain records are written exactly as before.
+ * Rows end with a single line feed, matching the files already written by the application.
+ */
+public class CSVWriter implements Flushable, Closeable {
+    private final Appendable out;
+    private boolean firstField = true;
+
+    /**
+     * Constructs a CSVWriter that appends to the given target.
+     *
+     * @param out the target to write to
+     */
+    public CSVWriter(Appendable out) {
+        this.out = out;
+    }
+
+    /**
+     * Constructs a CSVWriter that encodes its output as UTF-8 into the given channel.
+     * {@link #flush()} or {@link #close()} must be called to push the remaining characters to the channel.
+     *
+     * @param channel the channel to write to
+     */
+    public CSVWriter(WritableByteChannel channel) {
+        this(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1));
+    }
+
+    /**
+     * Writes a string field, quoting it if needed.
+     *
+     * @param value the field value, null is written as an empty field
+     * @return this writer
+     */
+    public CSVWriter field(CharSequence value) {
+        try {
+            separate();
+            if (value == null) return this;
+
+            if (!needsQuoting(value)) {
+                out.append(value);
+                return this;
+            }
+
+            out.append('"');
+            int runStart = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    out.append(value, runStart, i + 1).append('"');
+                    runStart = i + 1;
+                }
+            }
+            out.append(value, runStart, value.length()).append('"');
+
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV", e);
+        }
+    }
+
+    /**
+     * Writes an integer field.
+     *
+     * @param value the field value
+     * @return this writer
+     */
+    public CSVWriter field(long value) {
+        return raw(Long.toString(value));
+    }
+
+    /**
+     * Writes a floating point field.
+     *
+     * @param value the field value
+     * @return this writer
+     */
+    public CSVWriter field(double value) {
+        return raw(Double.toString(value));
+    }
+
+    /**
+     * Ends the current row.
+     *
+     * @return this writer
+     */
+    public CSVWriter endRow() {
+        try {
+            out.append('\n');
+            firstField = true;
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV", e);
+        }
+    }
+
+    /**
+     * Writes a whole row and ends it.
+     *
+     * @param fields the fields of the row
+     * @return this writer
+     */
+    public CSVWriter writeRow(String... fields) {
+        for (String field : fields) {
+            field(field);
+        }
+
+        return endRow();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            if (out instanceof Flushable) {
+                ((Flushable) out).flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush CSV", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (out instanceof Closeable) {
+                ((Closeable) out).close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close CSV", e);
+        }
+    }
+
+    private CSVWriter raw(String value) {
+        try {
+            separate();
+            out.append(value);
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV", e);
+        }
+    }
+
+    private void separate() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            out.append(',');
+        }
+    }
+
+    private static boolean needsQuoting(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,252 @@
+package core.io;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * ChunkedCipherFile stores data in a file encrypted with AES-GCM, split into fixed-size chunks that are
+ * encrypted independently, so no single encryption call has to hold a large file at once.
+ * <p>
+ * The file starts with a 12-byte little-endian header: the magic bytes {@code ECOC}, the format version and the
+ * chunk size. Every chunk is stored as a random 12-byte nonce followed by the ciphertext and the 16-byte tag.
+ * All chunks but the last hold exactly {@link #CHUNK_SIZE} bytes of data, so the position of any chunk is known
+ * without reading the file. The index of the chunk and whether it is the last one are authenticated, so chunks
+ * cannot be swapped around and a file cut off at a chunk boundary is detected. Empty data is stored as one empty chunk.
+ * <p>
+ * The same cipher is also used to seal standalone frames, for files that are only ever appended to.
+ */
+public final class ChunkedCipherFile {
+    /**
+     * The number of data bytes in a chunk.
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The size of the header of a chunked file, in bytes.
+     */
+    public static final int HEADER_SIZE = 12;
+
+    /**
+     * The number of bytes a sealed chunk or frame adds to its data: the nonce and the tag.
+     */
+    public static final int OVERHEAD = 12 + 16;
+
+    private static final int NONCE_SIZE = 12;
+    private static final int TAG_BITS = 128;
+
+    // "ECOC" read as a little-endian int
+    private static final int MAGIC = 0x434F4345;
+    private static final short FORMAT_VERSION = 1;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ChunkedCipherFile() {
+    }
+
+    /**
+     * Checks whether the given file exists and is a chunked file, as opposed to a file written by an earlier version.
+     *
+     * @param path the path of the file
+     * @return true if the file starts with the chunked file header
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isChunkedFile(Path path) throws IOException {
+        if (!Files.exists(path)) return false;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is full or the file ends
+            }
+
+            return !header.hasRemaining() && header.getInt(0) == MAGIC && header.getShort(4) == FORMAT_VERSION;
+        }
+    }
+
+    /**
+     * Reads and decrypts all the data of a chunked file.
+     *
+     * @param path the path of the file
+     * @param key  the key the file was encrypted with
+     * @return the data
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is corrupted or was encrypted with another key
+     */
+    public static byte[] readAll(Path path, SecretKey key) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = dataLength(channel.size());
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File is too large: " + path);
+            }
+
+            return read(channel, key, (int) length);
+        }
+    }
+
+    /**
+     * Encrypts the given data and writes it to a chunked file, replacing its content.
+     *
+     * @param path the path of the file
+     * @param key  the key to encrypt the file with
+     * @param data the data to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, SecretKey key, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel);
+            writeChunks(channel, key, data);
+        }
+    }
+
+    /**
+     * Encrypts a standalone frame of data.
+     *
+     * @param key  the key to encrypt the frame with
+     * @param data the data to encrypt
+     * @return the nonce followed by the ciphertext and the tag
+     */
+    public static byte[] seal(SecretKey key, byte[] data) {
+        byte[] frame = new byte[data.length + OVERHEAD];
+        seal(key, -1, true, data, 0, data.length, frame, 0);
+        return frame;
+    }
+
+    /**
+     * Decrypts a standalone frame of data sealed with {@link #seal(SecretKey, byte[])}.
+     *
+     * @param key   the key the frame was encrypted with
+     * @param frame the nonce followed by the ciphertext and the tag
+     * @return the data
+     * @throws IllegalArgumentException if the frame is corrupted or was encrypted with another key
+     */
+    public static byte[] open(SecretKey key, byte[] frame) {
+        if (frame.length < OVERHEAD) {
+            throw new IllegalArgumentException("Encrypted frame is truncated.");
+        }
+
+        byte[] data = new byte[frame.length - OVERHEAD];
+        open(key, -1, true, frame, 0, frame.length, data, 0);
+        return data;
+    }
+
+    private static byte[] read(FileChannel channel, SecretKey key, int length) throws IOException {
+        long chunkCount = chunkCount(channel.size());
+        byte[] result = new byte[length];
+
+        byte[] sealed = new byte[CHUNK_SIZE + OVERHEAD];
+        for (long chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkLength = (int) Math.min(CHUNK_SIZE, length - chunk * CHUNK_SIZE);
+            ByteBuffer buffer = ByteBuffer.wrap(sealed, 0, chunkLength + OVERHEAD);
+            long position = chunkPosition(chunk);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) throw new IllegalArgumentException("Encrypted file is truncated.");
+            }
+
+            open(key, chunk, chunk == chunkCount - 1, sealed, 0, chunkLength + OVERHEAD, result, (int) (chunk * CHUNK_SIZE));
+        }
+
+        return result;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) 0).putInt(CHUNK_SIZE).flip();
+        writeFully(channel, header, 0);
+    }
+
+    private static void writeChunks(FileChannel channel, SecretKey key, byte[] data) throws IOException {
+        int chunkCount = Math.max(1, (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        byte[] sealed = new byte[chunkCount * OVERHEAD + data.length];
+
+        int sealedLength = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            int from = i * CHUNK_SIZE;
+            int chunkLength = Math.min(CHUNK_SIZE, data.length - from);
+            sealedLength += seal(key, i, i == chunkCount - 1, data, from, chunkLength, sealed, sealedLength);
+        }
+
+        writeFully(channel, ByteBuffer.wrap(sealed, 0, sealedLength), chunkPosition(0));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int seal(SecretKey key, long index, boolean last, byte[] data, int offset, int length, byte[] out, int outOffset) {
+        try {
+            byte[] nonce = new byte[NONCE_SIZE];
+            RANDOM.nextBytes(nonce);
+            System.arraycopy(nonce, 0, out, outOffset, NONCE_SIZE);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(associatedData(index, last));
+
+            return NONCE_SIZE + cipher.doFinal(data, offset, length, out, outOffset + NONCE_SIZE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt data: " + e.getMessage(), e);
+        }
+    }
+
+    private static void open(SecretKey key, long index, boolean last, byte[] sealed, int offset, int length, byte[] out, int outOffset) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, offset, NONCE_SIZE));
+            cipher.updateAAD(associatedData(index, last));
+            cipher.doFinal(sealed, offset + NONCE_SIZE, length - NONCE_SIZE, out, outOffset);
+        } catch (AEADBadTagException e) {
+            throw new IllegalArgumentException("Encrypted data is corrupted or the password is wrong.", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to decrypt data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds the data authenticated with a chunk: its index, and a flag set on the last chunk of the file.
+     */
+    private static byte[] associatedData(long index, boolean last) {
+        return ByteBuffer.allocate(Long.BYTES + 1).order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(index)
+                .put((byte) (last ? 1 : 0))
+                .array();
+    }
+
+    private static long chunkPosition(long chunk) {
+        return HEADER_SIZE + chunk * (CHUNK_SIZE + OVERHEAD);
+    }
+
+    private static long dataLength(long fileSize) {
+        long chunkCount = chunkCount(fileSize);
+        long lastChunk = (fileSize - HEADER_SIZE) % (CHUNK_SIZE + OVERHEAD);
+        if (lastChunk == 0) return chunkCount * CHUNK_SIZE;
+
+        return (chunkCount - 1) * CHUNK_SIZE + lastChunk - OVERHEAD;
+    }
+
+    private static long chunkCount(long fileSize) {
+        long body = fileSize - HEADER_SIZE;
+        long lastChunk = body % (CHUNK_SIZE + OVERHEAD);
+
+        // Every file holds at least one chunk, and a chunk is never shorter than its nonce and tag
+        if (body < OVERHEAD || (lastChunk > 0 && lastChunk < OVERHEAD)) {
+            throw new IllegalArgumentException("Encrypted file is truncated.");
+        }
+
+        return body / (CHUNK_SIZE + OVERHEAD) + (lastChunk > 0 ? 1 : 0);
+    }
+}
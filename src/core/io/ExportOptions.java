@@ -0,0 +1,107 @@
+package core.io;
+
+import core.instances.ListOfKVs;
+import core.instances.Timestamp;
+
+/**
+ * ExportOptions holds the options shared by the export commands of every module:
+ * the date range of the records to export, the file to export them to and whether to compress it.
+ */
+public class ExportOptions {
+    private final long fromTimestamp;
+    private final long toTimestamp;
+    private final String filename;
+    private final String directory;
+    private final boolean compressed;
+
+    private ExportOptions(long fromTimestamp, long toTimestamp, String filename, String directory, boolean compressed) {
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+        this.filename = filename;
+        this.directory = directory;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Reads the export options from the arguments of an export command:
+     * "from" and "to" (inclusive dates in the format yyyy-MM-dd), "file", "directory" and "gzip".
+     *
+     * @param argsMap         the arguments of the command
+     * @param defaultFilename the name of the file to export to if none is given
+     * @return the export options
+     * @throws IllegalArgumentException if a date is invalid or the range is empty
+     */
+    public static ExportOptions fromArgs(ListOfKVs<String, String> argsMap, String defaultFilename) {
+        String from = argsMap.get("from");
+        String to = argsMap.get("to");
+
+        long fromTimestamp = from != null ? Timestamp.startOfEpochDay(Timestamp.parseEpochDay(from)) : Long.MIN_VALUE;
+        long toTimestamp = to != null ? Timestamp.startOfEpochDay(Timestamp.parseEpochDay(to) + 1) : Long.MAX_VALUE;
+        if (fromTimestamp >= toTimestamp) {
+            throw new IllegalArgumentException("The start date of the export must not be after its end date.");
+        }
+
+        boolean compressed = argsMap.containsKey("gzip");
+        String filename = argsMap.get("file") != null ? argsMap.get("file") : defaultFilename;
+        if (compressed && !filename.endsWith(".gz")) {
+            filename += ".gz";
+        }
+
+        return new ExportOptions(fromTimestamp, toTimestamp, filename, argsMap.get("directory"), compressed);
+    }
+
+    /**
+     * Creates the options to export every record to the given file in the exports folder of the profile.
+     *
+     * @param filename the name of the file to export to
+     * @return the export options
+     */
+    public static ExportOptions toFile(String filename) {
+        return new ExportOptions(Long.MIN_VALUE, Long.MAX_VALUE, filename, null, false);
+    }
+
+    /**
+     * Gets the start of the date range, inclusive.
+     *
+     * @return the start of the range in epoch milliseconds, or Long.MIN_VALUE if unbounded
+     */
+    public long getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    /**
+     * Gets the end of the date range, exclusive.
+     *
+     * @return the end of the range in epoch milliseconds, or Long.MAX_VALUE if unbounded
+     */
+    public long getToTimestamp() {
+        return toTimestamp;
+    }
+
+    /**
+     * Checks if a record with the given timestamp falls within the date range.
+     *
+     * @param timestamp the timestamp of the record in epoch milliseconds
+     * @return true if the record should be exported
+     */
+    public boolean includes(long timestamp) {
+        return timestamp >= fromTimestamp && timestamp < toTimestamp;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Gets the directory to export to.
+     *
+     * @return the directory, relative to the working directory, or null for the exports folder of the profile
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+}
@@ -7,22 +7,56 @@ import core.terminal.OutputUtils;
 import features.auth.data.UserManager;
 import features.auth.instances.Password;
 
+import javax.crypto.SecretKey;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOError;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * IOManager is responsible for managing all sorts of input/output operations related to user data.
+ * Profile files are encrypted with AES-GCM in independent chunks (see {@link ChunkedCipherFile}), using a key
+ * derived from the password once per login. Files written by earlier versions are migrated when first read.
+ * Writes are handed to a {@link WriteBehindQueue}, so commands do not wait for the disk;
+ * pending writes are flushed before any profile file is read, and on logout, exit and JVM shutdown.
  */
 public class IOManager {
+    // "ECOL" read as a little-endian int, at the start of log files
+    private static final int LOG_MAGIC = 0x4C4F4345;
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final Path currentDir = Paths.get("").toAbsolutePath();
     private final Path profilesDir = currentDir.resolve("profiles");
 
     private File userProfileFolder;
 
+    private final WriteBehindQueue writeQueue = new WriteBehindQueue();
+
+    private final ProfileCatalog profileCatalog = new ProfileCatalog(profilesDir, writeQueue);
+
     /**
      * Initializes the IOManager and ensures the profiles directory exists.
      * If the profiles directory does not exist, it attempts to create it.
@@ -40,6 +74,17 @@ public class IOManager {
 
             OutputUtils.printSuccess("Profiles directory created: " + new Chalk(profilesDir.toString()).purple());
         }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(writeQueue::flush, "profile-writer-shutdown"));
+    }
+
+    /**
+     * Writes all pending changes to disk and waits until they are synced.
+     *
+     * @throws IOError if a pending change could not be written
+     */
+    public void flush() {
+        writeQueue.flush();
     }
 
     /**
@@ -72,22 +117,67 @@ public class IOManager {
     }
 
     /**
-     * Parses a JSON object from a file with the given filename and password.
-     * The file is expected to be encrypted with the provided password.
+     * Reads the password verifier record of the current user profile.
+     *
+     * @return the record, or null if the profile was created before verifiers existed
+     * @throws IllegalStateException if user profile folder is not initialized
+     * @throws IOError               if there is an error reading the record
+     */
+    public byte[] readProfileVerifier() {
+        if (userProfileFolder == null) {
+            throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
+        }
+
+        writeQueue.flush();
+
+        Path verifierPath = userProfileFolder.toPath().resolve("key.verifier");
+        if (!Files.exists(verifierPath)) return null;
+
+        try {
+            return Files.readAllBytes(verifierPath);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read password verifier: " + verifierPath, e));
+        }
+    }
+
+    /**
+     * Writes the password verifier record of the current user profile in the background.
+     *
+     * @param record the record to write
+     * @throws IllegalStateException if user profile folder is not initialized
+     */
+    public void writeProfileVerifier(byte[] record) {
+        if (userProfileFolder == null) {
+            throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
+        }
+
+        writeQueue.write(userProfileFolder.toPath().resolve("key.verifier"), path -> Files.write(path, record));
+    }
+
+    /**
+     * Parses a JSON object from a file with the given filename, password and key.
+     * The file is expected to be encrypted with the provided key, or with the password if it was written by an earlier version.
+     * A file written by an earlier version is left as it is, the caller rewrites it once the new key is stored.
      * This method is only used during login.
      *
      * @param filename the name of the file to read
-     * @param password the password used for decryption
+     * @param password the password used for decryption of files written by earlier versions
+     * @param key      the key derived from the password
      * @return a JSONObject parsed from the decrypted content of the file
-     * @throws Error if decryption fails or if the file cannot be read
+     * @throws IllegalStateException if decryption fails or if the file cannot be read
      */
-    public JSONObject parseStringFromFile(String filename, String password) {
-        String data = readFromFile(filename);
+    public JSONObject parseStringFromFile(String filename, Password password, SecretKey key) {
+        if (userProfileFolder == null) {
+            throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
+        }
+
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".bin");
         JSONObject decryptedJSON = new JSONObject();
+        writeQueue.flush();
 
         try {
-            Password pwd = new Password(password);
-            decryptedJSON.parseFromString(pwd.decrypt(data));
+            byte[] data = readEncryptedFile(filePath, password, key, false);
+            decryptedJSON.parseFromString(new String(data, StandardCharsets.UTF_8));
             return decryptedJSON;
         } catch (Exception e) {
             throw new IllegalStateException("Failed to decrypt data file: " + filename + ". Please check your password.", e);
@@ -95,61 +185,193 @@ public class IOManager {
     }
 
     /**
-     * Parses a JSON object from a file with the given filename.
-     * The file is expected to be encrypted with the UserManager's password.
+     * Reads the decrypted content of a file with the given filename.
+     * The file is expected to be encrypted with the UserManager's key.
      * This method is used across the application after a user has logged in.
      *
      * @param filename the name of the file to read
-     * @return a JSONObject parsed from the decrypted content of the file
-     * @throws IllegalStateException if UserManager password is not set
-     * @throws Error                 if decryption fails or if the file cannot be read
+     * @return the decrypted content of the file
+     * @throws IllegalStateException if UserManager key is not set
+     * @throws IOError               if the file cannot be read
      */
     public String parseStringFromFile(String filename) {
-        UserManager userManager = GlobalManager.getInstance().getUserManager();
+        UserManager userManager = getLoggedInUserManager();
+        writeQueue.flush();
 
-        if (userManager.getPassword() == null) {
-            throw new IllegalStateException("UserManager password is not set. Please login first.");
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".bin");
+        try {
+            byte[] data = readEncryptedFile(filePath, userManager.getPassword(), userManager.getKey(), true);
+            return new String(data, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read from file: " + filePath, e));
         }
-
-        String data = readFromFile(filename);
-        return userManager.getPassword().decrypt(data);
     }
 
     /**
      * Writes a String content to a file with the given filename.
-     * The content is encrypted using the UserManager's password before writing.
+     * The content is encrypted using the UserManager's key and written in the background.
      *
      * @param filename the name of the file to write
      * @param content  the String content to write to the file
-     * @throws IllegalStateException if UserManager password is not set or if user profile folder is not initialized
-     * @throws IOError               if there is an error writing to the file
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
      */
     public void writeToFile(String filename, String content) {
-        String encryptedContent = getEncryptedString(content);
+        SecretKey key = getLoggedInUserManager().getKey();
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
 
         Path filePath = userProfileFolder.toPath().resolve(filename + ".bin");
-        try {
-            Files.write(filePath, encryptedContent.getBytes());
-        } catch (IOException e) {
-            throw new IOError(
-                    new IOException("Failed to write to file: " + filePath, e)
-            );
-        }
+        writeQueue.write(filePath, path -> ChunkedCipherFile.write(path, key, data));
     }
 
     /**
      * Writes a JSON object to a file with the given filename.
-     * The content is encrypted using the UserManager's password before writing.
+     * The content is encrypted using the UserManager's key and written in the background.
      *
      * @param filename the name of the file to write
      * @param content  the JSONObject to write to the file
-     * @throws IllegalStateException if UserManager password is not set or if user profile folder is not initialized
-     * @throws IOError               if there is an error writing to the file
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
      */
     public void writeToFile(String filename, JSONObject content) {
         writeToFile(filename, content.toString());
     }
 
+    /**
+     * Writes binary content to a file with the given filename.
+     * The content is encrypted using the UserManager's key and written in the background,
+     * so it must not be modified afterwards.
+     *
+     * @param filename the name of the file to write (without extension)
+     * @param content  the bytes to write to the file
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
+     */
+    public void writeBytesToFile(String filename, byte[] content) {
+        SecretKey key = getLoggedInUserManager().getKey();
+
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".dat");
+        writeQueue.write(filePath, path -> ChunkedCipherFile.write(path, key, content));
+    }
+
+    /**
+     * Reads and decrypts binary content from a file with the given filename.
+     * The file is expected to be encrypted with the UserManager's key.
+     *
+     * @param filename the name of the file to read (without extension)
+     * @return the decrypted bytes, or null if the file does not exist
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
+     * @throws IOError               if there is an error reading from the file
+     */
+    public byte[] readBytesFromFile(String filename) {
+        UserManager userManager = getLoggedInUserManager();
+        writeQueue.flush();
+
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".dat");
+        if (!Files.exists(filePath)) return null;
+
+        try {
+            return ChunkedCipherFile.readAll(filePath, userManager.getKey());
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read from file: " + filePath, e));
+        }
+    }
+
+    /**
+     * Deletes the file with the given filename in the background, if it exists.
+     *
+     * @param filename the name of the file to delete (without extension)
+     * @throws IllegalStateException if user profile folder is not initialized
+     */
+    public void deleteFile(String filename) {
+        if (userProfileFolder == null) {
+            throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
+        }
+
+        writeQueue.delete(userProfileFolder.toPath().resolve(filename + ".bin"));
+    }
+
+    /**
+     * Appends an entry to the append-only log file with the given filename.
+     * The entry is encrypted on its own using the UserManager's key and written in the background
+     * as a single length-prefixed frame, so only the new entry is written instead of the whole file.
+     *
+     * @param filename the name of the log file (without extension)
+     * @param entry    the entry to append
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
+     */
+    public void appendToLog(String filename, String entry) {
+        SecretKey key = getLoggedInUserManager().getKey();
+
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".wal");
+        writeQueue.append(filePath, newFile -> logFrames(key, newFile, Collections.singletonList(entry)));
+    }
+
+    /**
+     * Reads and decrypts every entry of the append-only log file with the given filename.
+     * A torn or undecryptable frame at the end of the file, left behind by an interrupted write,
+     * is cut off so that later appends start from the last complete entry.
+     *
+     * @param filename the name of the log file (without extension)
+     * @return the decrypted entries in the order they were appended, empty if the file does not exist
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
+     * @throws IOError               if there is an error reading from the file
+     */
+    public ArrayList<String> readLog(String filename) {
+        UserManager userManager = getLoggedInUserManager();
+
+        writeQueue.flush();
+
+        ArrayList<String> entries = new ArrayList<>();
+        Path filePath = userProfileFolder.toPath().resolve(filename + ".wal");
+        if (!Files.exists(filePath)) return entries;
+
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(filePath)).order(ByteOrder.LITTLE_ENDIAN);
+            if (bytes.remaining() >= Integer.BYTES && bytes.getInt(0) != LOG_MAGIC) {
+                throw new IOException("Not a log file: " + filePath);
+            }
+
+            int validLength = Math.min(bytes.remaining(), Integer.BYTES);
+            bytes.position(validLength);
+
+            while (bytes.remaining() >= Integer.BYTES) {
+                int frameLength = bytes.getInt();
+                if (frameLength < ChunkedCipherFile.OVERHEAD || frameLength > bytes.remaining()) break; // Torn tail
+
+                byte[] frame = new byte[frameLength];
+                bytes.get(frame);
+                try {
+                    entries.add(new String(ChunkedCipherFile.open(userManager.getKey(), frame), StandardCharsets.UTF_8));
+                } catch (IllegalArgumentException e) {
+                    break; // Corrupted tail
+                }
+                validLength = bytes.position();
+            }
+
+            if (validLength < bytes.limit()) {
+                try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                    channel.truncate(validLength);
+                }
+            }
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read from file: " + filePath, e));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Deletes the append-only log file with the given filename in the background, if it exists.
+     * The deletion is only carried out once the files written before it are on disk.
+     *
+     * @param filename the name of the log file (without extension)
+     * @throws IllegalStateException if user profile folder is not initialized
+     */
+    public void deleteLog(String filename) {
+        if (userProfileFolder == null) {
+            throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
+        }
+
+        writeQueue.delete(userProfileFolder.toPath().resolve(filename + ".wal"));
+    }
 
     /**
      * Checks if a user profile exists for the given username.
@@ -198,81 +420,175 @@ public class IOManager {
             throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
         }
 
+        writeQueue.flush();
+
         Path filePath = userProfileFolder.toPath().resolve(filename + ".bin");
         return Files.exists(filePath);
     }
 
     /**
-     * Lists all user profiles in the profiles directory.
+     * Gets the catalog of all user profiles, used to list and search profiles without scanning the profiles directory.
      *
-     * @return an array of profile names (directory names)
+     * @return the profile catalog
      */
-    public String[] listProfiles() {
-        File[] files = profilesDir.toFile().listFiles(File::isDirectory);
-        if (files == null) {
-            return new String[0];
-        }
+    public ProfileCatalog getProfileCatalog() {
+        return profileCatalog;
+    }
 
-        String[] profileNames = new String[files.length];
-        for (int i = 0; i < files.length; i++) {
-            profileNames[i] = files[i].getName();
+    /**
+     * Opens a file to import records from, decompressing it on the fly if it is gzip compressed.
+     * The file is read through a buffer, so it can be streamed whatever its size.
+     *
+     * @param filePath the path of the file, relative to the working directory
+     * @return a reader over the text of the file, which the caller must close
+     * @throws IllegalArgumentException if the file does not exist
+     * @throws IOError                  if the file cannot be opened
+     */
+    public Reader openImportFile(String filePath) {
+        Path path = currentDir.resolve(filePath);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File not found: " + path);
         }
 
-        return profileNames;
+        try {
+            BufferedInputStream in = new BufferedInputStream(Files.newInputStream(path), EXPORT_BUFFER_SIZE);
+
+            // Gzip files start with the bytes 1f 8b
+            in.mark(2);
+            boolean compressed = in.read() == 0x1f && in.read() == 0x8b;
+            in.reset();
+
+            InputStream content = compressed ? new GZIPInputStream(in, EXPORT_BUFFER_SIZE) : in;
+            return new InputStreamReader(content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to open file: " + path, e));
+        }
     }
 
     /**
-     * Exports data to a file in the user's profile folder.
-     * If the exports directory does not exist, it creates it.
+     * Exports records to a CSV file, streaming them straight to disk so the export takes constant memory
+     * whatever the number of records. The rows are encoded through a buffered channel writer and, if requested,
+     * compressed with gzip on the way. The file is written under a temporary name and renamed once complete,
+     * so a failed export never leaves a partial file behind.
+     * If the target directory does not exist, it creates it.
      *
-     * @param filename the name of the file to export (without extension)
-     * @param content  the content to write to the file
+     * @param options the export options, holding the file name, the directory and whether to compress the file
+     * @param rows    writes the rows of the export
+     * @return the path of the exported file
      * @throws IllegalStateException if user profile folder is not initialized
      * @throws IOError               if there is an error writing to the file
      */
-    public void exportToFile(String filename, String content) {
+    public Path exportToFile(ExportOptions options, Consumer<CSVWriter> rows) {
         if (userProfileFolder == null) {
             throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
         }
 
-        Path exportDir = userProfileFolder.toPath().resolve("exports");
-        if (!Files.exists(exportDir) || !Files.isDirectory(exportDir)) {
-            try {
-                Files.createDirectory(exportDir);
-            } catch (IOException e) {
-                throw new IOError(new IOException("Failed to create exports directory: " + exportDir, e));
-            }
+        Path exportDir = options.getDirectory() != null
+                ? currentDir.resolve(options.getDirectory())
+                : userProfileFolder.toPath().resolve("exports");
+        try {
+            Files.createDirectories(exportDir);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to create exports directory: " + exportDir, e));
         }
 
-        Path filePath = exportDir.resolve(filename);
+        Path filePath = exportDir.resolve(options.getFilename());
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
         try {
-            Files.write(filePath, content.getBytes());
-            OutputUtils.printSuccess("Data exported to: " + new Chalk(filePath.toString()).purple());
-        } catch (IOException e) {
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath), EXPORT_BUFFER_SIZE);
+            if (options.isCompressed()) {
+                out = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+            }
+
+            try (CSVWriter writer = new CSVWriter(Channels.newChannel(out))) {
+                rows.accept(writer);
+            }
+
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | UncheckedIOException e) {
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ignored) {
+                // The original error is more relevant
+            }
             throw new IOError(new IOException("Failed to write to file: " + filePath, e));
         }
+
+        OutputUtils.printSuccess("Data exported to: " + new Chalk(filePath.toString()).purple());
+        return filePath;
     }
 
     /**
-     * Encrypts the given content using the UserManager's password.
-     * This method is used to ensure that sensitive data is stored securely.
+     * Gets the UserManager after checking that a user is logged in and their profile folder is initialized.
      *
-     * @param content the content to encrypt
-     * @return the encrypted content as a String
-     * @throws IllegalStateException if UserManager password is not set or if user profile folder is not initialized
+     * @return the UserManager
+     * @throws IllegalStateException if UserManager key is not set or if user profile folder is not initialized
      */
-    private String getEncryptedString(String content) {
+    private UserManager getLoggedInUserManager() {
         UserManager userManager = GlobalManager.getInstance().getUserManager();
-        Password password = userManager.getPassword();
 
-        if (password == null) {
-            throw new IllegalStateException("UserManager password is not set. Please login first.");
+        if (userManager.getKey() == null) {
+            throw new IllegalStateException("UserManager key is not set. Please login first.");
         }
 
         if (userProfileFolder == null) {
             throw new IllegalStateException("User profile folder is not initialized. Call initUserProfile() first.");
         }
 
-        return password.encrypt(content);
+        return userManager;
+    }
+
+    /**
+     * Reads and decrypts a whole text file. Files written by earlier versions, which were XOR encrypted with the password,
+     * are decrypted with the password and, if asked to, rewritten in the background as a chunked file encrypted
+     * with the key. The rewrite replaces the file atomically, so the original stays intact until it is complete.
+     *
+     * @param filePath the path of the file
+     * @param password the password the file may have been encrypted with by an earlier version
+     * @param key      the key derived from the password
+     * @param migrate  whether a file written by an earlier version is rewritten with the key
+     * @return the decrypted content of the file
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is corrupted or the password is wrong
+     */
+    private byte[] readEncryptedFile(Path filePath, Password password, SecretKey key, boolean migrate) throws IOException {
+        if (ChunkedCipherFile.isChunkedFile(filePath)) {
+            return ChunkedCipherFile.readAll(filePath, key);
+        }
+
+        String text = new String(Files.readAllBytes(filePath));
+        byte[] data = password.decrypt(text).getBytes(StandardCharsets.UTF_8);
+
+        if (migrate) {
+            writeQueue.write(filePath, path -> ChunkedCipherFile.write(path, key, data));
+        }
+        return data;
+    }
+
+    /**
+     * Builds the frames of the given log entries, each encrypted on its own and preceded by its length.
+     *
+     * @param key        the key to encrypt the entries with
+     * @param withHeader whether the frames start a new log file and must be preceded by the log header
+     * @param entries    the entries to encrypt
+     * @return a buffer holding the frames, ready to be written
+     */
+    private static ByteBuffer logFrames(SecretKey key, boolean withHeader, List<String> entries) {
+        ArrayList<byte[]> frames = new ArrayList<>(entries.size());
+        int length = withHeader ? Integer.BYTES : 0;
+        for (String entry : entries) {
+            byte[] frame = ChunkedCipherFile.seal(key, entry.getBytes(StandardCharsets.UTF_8));
+            frames.add(frame);
+            length += Integer.BYTES + frame.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        if (withHeader) buffer.putInt(LOG_MAGIC);
+        for (byte[] frame : frames) {
+            buffer.putInt(frame.length).put(frame);
+        }
+        buffer.flip();
+
+        return buffer;
     }
 }
@@ -0,0 +1,399 @@
+package core.io;
+
+import core.instances.JSONArray;
+import core.instances.JSONObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * JSONParser is a single-pass, character level JSON parser.
+ * It reads either from a {@link CharSequence} (by index, without copying) or from a {@link Reader}
+ * (through a small reusable buffer), and builds {@link JSONObject}s and {@link JSONArray}s as it goes.
+ * <p>
+ * Supports nested objects and arrays, string escapes (including unicode escapes) and numbers.
+ * For backward compatibility with profiles written by older versions, bare words such as ECO001
+ * are accepted as string values.
+ */
+public class JSONParser {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CharSequence sequence;
+    private final Reader reader;
+    private final char[] buffer;
+    private int bufferLength = 0;
+    private int bufferPosition = 0;
+
+    // Position of the next character in the whole input, used for error messages
+    private long position = 0;
+
+    // Reused for every string and number token
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Constructs a JSONParser that reads from a character sequence.
+     *
+     * @param json the JSON text
+     */
+    public JSONParser(CharSequence json) {
+        this.sequence = json;
+        this.reader = null;
+        this.buffer = null;
+    }
+
+    /**
+     * Constructs a JSONParser that reads from a Reader.
+     * The reader is not closed by the parser.
+     *
+     * @param reader the reader providing the JSON text
+     */
+    public JSONParser(Reader reader) {
+        this.sequence = null;
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Parses the whole input as a single JSON value, making sure nothing but whitespace follows it.
+     *
+     * @return a String, Integer, Long, Double, Boolean, null, JSONObject or JSONArray
+     * @throws IllegalArgumentException if the input is not valid JSON
+     */
+    public Object parse() {
+        Object value = parseValue();
+
+        skipWhitespace();
+        if (peek() != -1) {
+            throw error("Unexpected trailing character '" + (char) peek() + "'");
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses the whole input, which must be a JSON object.
+     *
+     * @return the parsed JSONObject
+     * @throws IllegalArgumentException if the input is not a valid JSON object
+     */
+    public JSONObject parseObject() {
+        skipWhitespace();
+        if (peek() != '{') {
+            throw new IllegalArgumentException("Invalid JSON object");
+        }
+
+        return (JSONObject) parse();
+    }
+
+    private Object parseValue() {
+        skipWhitespace();
+        int c = peek();
+
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case -1:
+                throw error("Unexpected end of input");
+            default:
+                return readBareValue();
+        }
+    }
+
+    private JSONObject readObject() {
+        expect('{');
+        JSONObject object = new JSONObject();
+
+        skipWhitespace();
+        if (peek() == '}') {
+            next();
+            return object;
+        }
+
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a quoted key");
+            }
+            String key = readString();
+
+            skipWhitespace();
+            expect(':');
+
+            object.putValue(key, parseValue());
+
+            skipWhitespace();
+            int c = next();
+            if (c == '}') return object;
+            if (c != ',') throw error("Expected ',' or '}'");
+        }
+    }
+
+    private JSONArray readArray() {
+        expect('[');
+        JSONArray array = new JSONArray();
+
+        skipWhitespace();
+        if (peek() == ']') {
+            next();
+            return array;
+        }
+
+        while (true) {
+            array.add(parseValue());
+
+            skipWhitespace();
+            int c = next();
+            if (c == ']') return array;
+            if (c != ',') throw error("Expected ',' or ']'");
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        token.setLength(0);
+
+        while (true) {
+            int c = next();
+
+            if (c == -1) {
+                throw error("Unterminated string");
+            }
+            if (c == '"') {
+                return token.toString();
+            }
+            if (c != '\\') {
+                token.append((char) c);
+                continue;
+            }
+
+            int escaped = next();
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    token.append((char) escaped);
+                    break;
+                case 'b':
+                    token.append('\b');
+                    break;
+                case 'f':
+                    token.append('\f');
+                    break;
+                case 'n':
+                    token.append('\n');
+                    break;
+                case 'r':
+                    token.append('\r');
+                    break;
+                case 't':
+                    token.append('\t');
+                    break;
+                case 'u':
+                    token.append(readUnicodeEscape());
+                    break;
+                default:
+                    throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+    private char readUnicodeEscape() {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(next(), 16);
+            if (digit == -1) {
+                throw error("Invalid unicode escape");
+            }
+            code = (code << 4) | digit;
+        }
+
+        return (char) code;
+    }
+
+    /**
+     * Reads an unquoted token: a number, true, false, null, or a legacy bare word.
+     * Numbers that fit in an int become Integer, larger integers become Long,
+     * and anything with a fraction or exponent becomes Double.
+     *
+     * @return the parsed value
+     */
+    private Object readBareValue() {
+        token.setLength(0);
+
+        int c;
+        while ((c = peek()) != -1 && isBareChar(c)) {
+            token.append((char) next());
+        }
+
+        if (token.length() == 0) {
+            throw error("Unexpected character '" + (char) c + "'");
+        }
+
+        if (tokenEquals("true")) return Boolean.TRUE;
+        if (tokenEquals("false")) return Boolean.FALSE;
+        if (tokenEquals("null")) return null;
+
+        int numberType = classifyNumber();
+        if (numberType == NUMBER_INTEGER) {
+            return readInteger();
+        } else if (numberType == NUMBER_DECIMAL) {
+            return Double.parseDouble(token.toString());
+        }
+
+        // Handle unquoted alphanumeric strings (like challenge IDs)
+        for (int i = 0; i < token.length(); i++) {
+            char ch = token.charAt(i);
+            if (!Character.isLetterOrDigit(ch) && ch != '_') {
+                throw error("Unsupported value type: " + token);
+            }
+        }
+
+        return token.toString();
+    }
+
+    private static final int NOT_A_NUMBER = 0;
+    private static final int NUMBER_INTEGER = 1;
+    private static final int NUMBER_DECIMAL = 2;
+
+    /**
+     * Checks the token against the JSON number grammar: -?digits(.digits)?([eE][+-]?digits)?
+     *
+     * @return NOT_A_NUMBER, NUMBER_INTEGER or NUMBER_DECIMAL
+     */
+    private int classifyNumber() {
+        int i = 0;
+        int length = token.length();
+
+        if (i < length && token.charAt(i) == '-') i++;
+
+        int digitsStart = i;
+        while (i < length && isDigit(token.charAt(i))) i++;
+        if (i == digitsStart) return NOT_A_NUMBER;
+        if (i == length) return NUMBER_INTEGER;
+
+        if (token.charAt(i) == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < length && isDigit(token.charAt(i))) i++;
+            if (i == fractionStart) return NOT_A_NUMBER;
+        }
+
+        if (i < length && (token.charAt(i) == 'e' || token.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) i++;
+            int exponentStart = i;
+            while (i < length && isDigit(token.charAt(i))) i++;
+            if (i == exponentStart) return NOT_A_NUMBER;
+        }
+
+        return i == length ? NUMBER_DECIMAL : NOT_A_NUMBER;
+    }
+
+    /**
+     * Accumulates the digits of an integer token directly, falling back to a double if it overflows a long.
+     *
+     * @return an Integer, Long or Double
+     */
+    private Object readInteger() {
+        boolean negative = token.charAt(0) == '-';
+        long value = 0;
+
+        for (int i = negative ? 1 : 0; i < token.length(); i++) {
+            int digit = token.charAt(i) - '0';
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                return Double.parseDouble(token.toString());
+            }
+            value = value * 10 - digit; // Accumulate negatively so Long.MIN_VALUE fits
+        }
+
+        if (!negative) {
+            if (value == Long.MIN_VALUE) return Double.parseDouble(token.toString());
+            value = -value;
+        }
+
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+
+        return value;
+    }
+
+    private boolean tokenEquals(String s) {
+        if (token.length() != s.length()) return false;
+
+        for (int i = 0; i < s.length(); i++) {
+            if (token.charAt(i) != s.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isBareChar(int c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '+' || c == '.';
+    }
+
+    private void skipWhitespace() {
+        int c;
+        while ((c = peek()) == ' ' || c == '\t' || c == '\n' || c == '\r') {
+            next();
+        }
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private int peek() {
+        if (sequence != null) {
+            return position < sequence.length() ? sequence.charAt((int) position) : -1;
+        }
+
+        if (bufferPosition == bufferLength && !fillBuffer()) {
+            return -1;
+        }
+
+        return buffer[bufferPosition];
+    }
+
+    private int next() {
+        int c = peek();
+        if (c != -1) {
+            position++;
+            if (sequence == null) bufferPosition++;
+        }
+
+        return c;
+    }
+
+    private boolean fillBuffer() {
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+
+            if (read == -1) return false;
+
+            bufferLength = read;
+            bufferPosition = 0;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON input", e);
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,258 @@
+package core.io;
+
+import core.instances.JSONArray;
+import core.instances.JSONObject;
+import core.instances.ListOfKVs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * JSONWriter writes JSON text token by token straight into an {@link Appendable},
+ * which can be a StringBuilder, a Writer, or anything else that accepts characters.
+ * Nothing is buffered apart from what the target itself buffers, so large documents
+ * never need to exist as a single String.
+ * <p>
+ * Output uses the same layout as the original JSONObject.toString(): {"key": value, "key2": value2}
+ */
+public class JSONWriter {
+    private final Appendable out;
+
+    // One flag per open object/array, telling whether the next element is the first one (no separator needed)
+    private boolean[] firstInContainer = new boolean[8];
+    private int depth = 0;
+    private boolean afterName = false;
+
+    /**
+     * Constructs a JSONWriter that appends to the given target.
+     *
+     * @param out the target to write to
+     */
+    public JSONWriter(Appendable out) {
+        this.out = out;
+    }
+
+    public JSONWriter beginObject() {
+        beforeValue();
+        write('{');
+        push();
+        return this;
+    }
+
+    public JSONWriter endObject() {
+        pop();
+        write('}');
+        return this;
+    }
+
+    public JSONWriter beginArray() {
+        beforeValue();
+        write('[');
+        push();
+        return this;
+    }
+
+    public JSONWriter endArray() {
+        pop();
+        write(']');
+        return this;
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name the member name
+     * @return this writer
+     * @throws IllegalStateException if a name was already written without a value
+     */
+    public JSONWriter name(String name) {
+        if (afterName) {
+            throw new IllegalStateException("Expected a value after name, got another name: " + name);
+        }
+
+        separate();
+        writeString(name);
+        write(": ");
+        afterName = true;
+        return this;
+    }
+
+    public JSONWriter value(String value) {
+        if (value == null) return nullValue();
+
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JSONWriter value(long value) {
+        beforeValue();
+        write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a floating point number. JSON cannot represent NaN or infinity, so those are written as null.
+     *
+     * @param value the number to write
+     * @return this writer
+     */
+    public JSONWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return nullValue();
+
+        beforeValue();
+        write(Double.toString(value));
+        return this;
+    }
+
+    public JSONWriter value(boolean value) {
+        beforeValue();
+        write(value ? "true" : "false");
+        return this;
+    }
+
+    public JSONWriter nullValue() {
+        beforeValue();
+        write("null");
+        return this;
+    }
+
+    /**
+     * Writes any supported value, recursing into nested objects and arrays.
+     *
+     * @param value a String, Number, Boolean, null, JSONObject or JSONArray
+     * @return this writer
+     * @throws IllegalArgumentException if the value type is not supported
+     */
+    public JSONWriter value(Object value) {
+        if (value == null) {
+            return nullValue();
+        } else if (value instanceof String) {
+            return value((String) value);
+        } else if (value instanceof Integer || value instanceof Long) {
+            return value(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            return value(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        } else if (value instanceof JSONObject) {
+            beginObject();
+            for (ListOfKVs.Entry<String, Object> entry : ((JSONObject) value).entries()) {
+                name(entry.getKey());
+                value(entry.getValue());
+            }
+            return endObject();
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            beginArray();
+            for (int i = 0; i < array.size(); i++) {
+                value(array.get(i));
+            }
+            return endArray();
+        }
+
+        throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getSimpleName());
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+
+        separate();
+    }
+
+    private void separate() {
+        if (depth == 0) return;
+
+        if (firstInContainer[depth - 1]) {
+            firstInContainer[depth - 1] = false;
+        } else {
+            write(", ");
+        }
+    }
+
+    private void push() {
+        if (depth == firstInContainer.length) {
+            firstInContainer = Arrays.copyOf(firstInContainer, depth * 2);
+        }
+        firstInContainer[depth++] = true;
+    }
+
+    private void pop() {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("Unbalanced JSON structure");
+        }
+        depth--;
+    }
+
+    /**
+     * Writes a quoted string, escaping quotes, backslashes and control characters.
+     * Unescaped runs are appended as slices of the original string instead of one char at a time.
+     *
+     * @param s the string to write
+     */
+    private void writeString(String s) {
+        try {
+            out.append('"');
+
+            int runStart = 0;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                String escape;
+
+                switch (c) {
+                    case '"':
+                        escape = "\\\"";
+                        break;
+                    case '\\':
+                        escape = "\\\\";
+                        break;
+                    case '\n':
+                        escape = "\\n";
+                        break;
+                    case '\r':
+                        escape = "\\r";
+                        break;
+                    case '\t':
+                        escape = "\\t";
+                        break;
+                    case '\b':
+                        escape = "\\b";
+                        break;
+                    case '\f':
+                        escape = "\\f";
+                        break;
+                    default:
+                        if (c >= 0x20) continue;
+                        escape = String.format("\\u%04x", (int) c);
+                }
+
+                out.append(s, runStart, i).append(escape);
+                runStart = i + 1;
+            }
+
+            out.append(s, runStart, s.length()).append('"');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JSON", e);
+        }
+    }
+
+    private void write(char c) {
+        try {
+            out.append(c);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JSON", e);
+        }
+    }
+
+    private void write(String s) {
+        try {
+            out.append(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JSON", e);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package core.io;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * ProfileCatalog keeps an index of every user profile with its metadata, so profiles can be listed,
+ * searched by prefix and paged through without scanning the profiles directory.
+ * <p>
+ * The index is an append-only CSV log next to the profile folders, where each line holds the whole entry
+ * of one profile and the last line for a profile wins. It is read once into a map sorted by name,
+ * and rewritten once most of its lines are stale. If the log does not exist yet, it is built once
+ * from the profile folders. The log only holds metadata, so it is not encrypted.
+ */
+public class ProfileCatalog {
+    private static final String FILENAME = "catalog.log";
+
+    // Stale lines allowed in the log on top of one line per profile before it is rewritten
+    private static final int COMPACTION_SLACK = 64;
+
+    private static final int FIELD_COUNT = 7;
+
+    private final Path profilesDir;
+    private final Path file;
+    private final WriteBehindQueue writeQueue;
+
+    // Loaded on first access
+    private TreeMap<String, Entry> entries;
+    private int logLines = 0;
+
+    /**
+     * The metadata of a single profile.
+     * Record counts are negative when unknown, i.e. for profiles indexed from their folder that have not logged out since.
+     */
+    public static final class Entry {
+        private final String name;
+        private final long createdAt;
+        private final long lastLogin;
+        private final int footprintRecords;
+        private final int challengeRecords;
+        private final int habitRecords;
+        private final long sizeOnDisk;
+
+        private Entry(String name, long createdAt, long lastLogin,
+                      int footprintRecords, int challengeRecords, int habitRecords, long sizeOnDisk) {
+            this.name = name;
+            this.createdAt = createdAt;
+            this.lastLogin = lastLogin;
+            this.footprintRecords = footprintRecords;
+            this.challengeRecords = challengeRecords;
+            this.habitRecords = habitRecords;
+            this.sizeOnDisk = sizeOnDisk;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the time the profile was created.
+         *
+         * @return the creation time in epoch milliseconds
+         */
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Gets the time of the last login to the profile.
+         *
+         * @return the last login time in epoch milliseconds, or 0 if unknown
+         */
+        public long getLastLogin() {
+            return lastLogin;
+        }
+
+        public int getFootprintRecords() {
+            return footprintRecords;
+        }
+
+        public int getChallengeRecords() {
+            return challengeRecords;
+        }
+
+        public int getHabitRecords() {
+            return habitRecords;
+        }
+
+        /**
+         * Gets the total number of records of the profile across all modules.
+         *
+         * @return the number of records, or -1 if no count is known
+         */
+        public int getRecordCount() {
+            if (footprintRecords < 0 && challengeRecords < 0 && habitRecords < 0) return -1;
+
+            return Math.max(footprintRecords, 0) + Math.max(challengeRecords, 0) + Math.max(habitRecords, 0);
+        }
+
+        /**
+         * Gets the size of the profile folder, as of the last logout.
+         *
+         * @return the size in bytes, or -1 if unknown
+         */
+        public long getSizeOnDisk() {
+            return sizeOnDisk;
+        }
+    }
+
+    /**
+     * A page of the profiles matching a search.
+     */
+    public static final class Page {
+        private final List<Entry> entries;
+        private final int total;
+
+        private Page(List<Entry> entries, int total) {
+            this.entries = entries;
+            this.total = total;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Gets the number of profiles matching the search, across all pages.
+         *
+         * @return the number of matching profiles
+         */
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Constructs a ProfileCatalog for the given profiles directory.
+     *
+     * @param profilesDir the directory holding the profile folders and the catalog log
+     * @param writeQueue  the queue the log is written through
+     */
+    public ProfileCatalog(Path profilesDir, WriteBehindQueue writeQueue) {
+        this.profilesDir = profilesDir;
+        this.file = profilesDir.resolve(FILENAME);
+        this.writeQueue = writeQueue;
+    }
+
+    /**
+     * Gets a page of the profiles whose name starts with the given prefix, sorted by name.
+     *
+     * @param prefix the prefix of the names, or an empty string for all profiles
+     * @param offset the number of matching profiles to skip
+     * @param limit  the maximum number of profiles in the page
+     * @return the page of profiles
+     * @throws IOError if the catalog cannot be read
+     */
+    public synchronized Page search(String prefix, int offset, int limit) {
+        load();
+
+        SortedMap<String, Entry> matches = prefix.isEmpty()
+                ? entries
+                : entries.subMap(prefix, prefix + Character.MAX_VALUE);
+
+        ArrayList<Entry> page = new ArrayList<>(Math.min(limit, matches.size()));
+        int index = 0;
+        for (Entry entry : matches.values()) {
+            if (page.size() >= limit) break;
+            if (index++ >= offset) page.add(entry);
+        }
+
+        return new Page(Collections.unmodifiableList(page), matches.size());
+    }
+
+    /**
+     * Adds a newly created profile to the catalog.
+     *
+     * @param name the name of the profile
+     * @throws IOError if the catalog cannot be read
+     */
+    public synchronized void recordSignup(String name) {
+        load();
+
+        long now = System.currentTimeMillis();
+        put(new Entry(name, now, now, 0, 0, 0, sizeOf(profilesDir.resolve(name))));
+    }
+
+    /**
+     * Updates the last login time of a profile.
+     *
+     * @param name the name of the profile
+     * @throws IOError if the catalog cannot be read
+     */
+    public synchronized void recordLogin(String name) {
+        load();
+
+        Entry entry = entries.get(name);
+        if (entry == null) entry = indexFolder(profilesDir.resolve(name));
+
+        put(new Entry(name, entry.createdAt, System.currentTimeMillis(),
+                entry.footprintRecords, entry.challengeRecords, entry.habitRecords, entry.sizeOnDisk));
+    }
+
+    /**
+     * Updates the record counts and the size of a profile when logging out.
+     * Pending writes must be flushed first, so the size includes them.
+     *
+     * @param name             the name of the profile
+     * @param footprintRecords the number of footprint records, or -1 to keep the known count
+     * @param challengeRecords the number of challenge records, or -1 to keep the known count
+     * @param habitRecords     the number of habit records, or -1 to keep the known count
+     * @throws IOError if the catalog cannot be read
+     */
+    public synchronized void recordLogout(String name, int footprintRecords, int challengeRecords, int habitRecords) {
+        load();
+
+        Entry entry = entries.get(name);
+        if (entry == null) entry = indexFolder(profilesDir.resolve(name));
+
+        put(new Entry(name, entry.createdAt, entry.lastLogin,
+                footprintRecords < 0 ? entry.footprintRecords : footprintRecords,
+                challengeRecords < 0 ? entry.challengeRecords : challengeRecords,
+                habitRecords < 0 ? entry.habitRecords : habitRecords,
+                sizeOf(profilesDir.resolve(name))));
+    }
+
+    private void load() {
+        if (entries != null) return;
+
+        entries = new TreeMap<>();
+        logLines = 0;
+
+        writeQueue.flush();
+        if (!Files.exists(file)) {
+            indexFolders();
+            return;
+        }
+
+        String content;
+        try {
+            content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read profile catalog: " + file, e));
+        }
+
+        boolean intact = content.isEmpty() || content.endsWith("\n");
+        try {
+            CSVParser.parseCSVString(content, row -> {
+                logLines++;
+                if (row.size() != FIELD_COUNT) return;
+
+                try {
+                    Entry entry = new Entry(row.get(0), row.getLong(1), row.getLong(2),
+                            row.getInt(3), row.getInt(4), row.getInt(5), row.getLong(6));
+                    entries.put(entry.name, entry);
+                } catch (NumberFormatException e) {
+                    // Corrupted line, the entry is rewritten on the next update of the profile
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            intact = false; // Torn quoted field at the end of the log
+        }
+
+        // Appending after a torn line would corrupt the next entry too
+        if (!intact) compact();
+    }
+
+    /**
+     * Builds the catalog from the profile folders, for profiles created before the catalog existed.
+     */
+    private void indexFolders() {
+        try (DirectoryStream<Path> folders = Files.newDirectoryStream(profilesDir, Files::isDirectory)) {
+            for (Path folder : folders) {
+                Entry entry = indexFolder(folder);
+                entries.put(entry.name, entry);
+            }
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to list profiles: " + profilesDir, e));
+        }
+
+        compact();
+    }
+
+    private static Entry indexFolder(Path folder) {
+        long createdAt;
+        try {
+            createdAt = Files.readAttributes(folder, BasicFileAttributes.class).creationTime().toMillis();
+        } catch (IOException e) {
+            createdAt = 0;
+        }
+
+        return new Entry(folder.getFileName().toString(), createdAt, 0, -1, -1, -1, sizeOf(folder));
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.name, entry);
+
+        if (logLines + 1 > entries.size() + COMPACTION_SLACK) {
+            compact();
+            return;
+        }
+
+        String line = toLine(entry);
+        writeQueue.append(file, newFile -> ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        logLines++;
+    }
+
+    private void compact() {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries.values()) {
+            sb.append(toLine(entry));
+        }
+
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        writeQueue.write(file, path -> Files.write(path, bytes));
+        logLines = entries.size();
+    }
+
+    private static String toLine(Entry entry) {
+        StringBuilder sb = new StringBuilder();
+        new CSVWriter(sb)
+                .field(entry.name)
+                .field(entry.createdAt)
+                .field(entry.lastLogin)
+                .field(entry.footprintRecords)
+                .field(entry.challengeRecords)
+                .field(entry.habitRecords)
+                .field(entry.sizeOnDisk)
+                .endRow();
+
+        return sb.toString();
+    }
+
+    private static long sizeOf(Path folder) {
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package core.io;
+
+import core.manager.GlobalManager;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+/**
+ * RecordLog keeps a module's records as a snapshot file plus an append-only log of the mutations made since.
+ * Each mutation is appended as a single encrypted entry holding a sequence number, an operation and the
+ * fields of the record, so saving a change costs a few dozen bytes instead of rewriting the whole file.
+ * <p>
+ * Once enough entries have piled up, the owner writes a fresh snapshot with {@link #compact(String)}.
+ * The snapshot starts with a checkpoint row holding the last sequence number it contains, so if the
+ * application stops between writing the snapshot and deleting the log, the entries already in the snapshot
+ * are skipped on the next {@link #replay(EntryVisitor)} instead of being applied twice.
+ * <p>
+ * Snapshots are either CSV text or, for modules with fixed-width records, a versioned binary file.
+ * A binary snapshot starts with a 24-byte little-endian header: the magic bytes {@code ECOR}, the format version,
+ * the schema id of the module, the size of a record, the number of records and the checkpoint sequence number.
+ * The records follow as fixed-width little-endian fields, so they are read with a {@link ByteBuffer} without any text parsing.
+ */
+public class RecordLog {
+    /**
+     * The number of log entries after which the owner should compact the log into a new snapshot.
+     */
+    public static final int COMPACTION_THRESHOLD = 128;
+
+    /**
+     * The size of the header of a binary snapshot, in bytes.
+     */
+    public static final int HEADER_SIZE = 24;
+
+    private static final String CHECKPOINT_MARKER = "#checkpoint";
+
+    // "ECOR" read as a little-endian int
+    private static final int MAGIC = 0x524F4345;
+    private static final short FORMAT_VERSION = 1;
+
+    private final String filename;
+
+    // Sequence number of the last entry in the snapshot or the log
+    private long sequence = 0;
+
+    // Number of entries in the log that are not in the snapshot yet
+    private int pendingEntries = 0;
+
+    /**
+     * Visits the entries of the log in the order they were appended.
+     */
+    public interface EntryVisitor {
+        /**
+         * Applies a single entry.
+         *
+         * @param operation the operation of the entry
+         * @param fields    the fields of the entry
+         */
+        void apply(char operation, String[] fields);
+    }
+
+    /**
+     * Constructs a RecordLog for the snapshot file with the given filename.
+     * The log is stored next to the snapshot, under the same filename.
+     *
+     * @param filename the name of the snapshot file (without extension)
+     */
+    public RecordLog(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Reads the CSV snapshot of the records.
+     * This resets the sequence number to the checkpoint of the snapshot, so it must be called before {@link #replay(EntryVisitor)}.
+     *
+     * @return the CSV content of the snapshot, without the checkpoint row, or an empty string if there is no snapshot yet
+     */
+    public String readSnapshot() {
+        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        sequence = 0;
+        pendingEntries = 0;
+
+        if (!ioManager.existsFile(filename)) return "";
+
+        String content = ioManager.parseStringFromFile(filename);
+        if (!content.startsWith(CHECKPOINT_MARKER + ",")) return content; // Written before the log existed
+
+        int lineEnd = content.indexOf('\n');
+        String checkpoint = content.substring(CHECKPOINT_MARKER.length() + 1, lineEnd < 0 ? content.length() : lineEnd);
+        try {
+            sequence = Long.parseLong(checkpoint.trim());
+        } catch (NumberFormatException e) {
+            sequence = 0;
+        }
+
+        return lineEnd < 0 ? "" : content.substring(lineEnd + 1);
+    }
+
+    /**
+     * Reads the binary snapshot of the records.
+     * This resets the sequence number to the checkpoint of the snapshot, so it must be called before {@link #replay(EntryVisitor)}.
+     *
+     * @param schemaId   the schema id of the records
+     * @param recordSize the size of a record, in bytes
+     * @return a little-endian buffer positioned at the first record and limited to the end of the last one,
+     * or null if there is no binary snapshot yet, in which case the CSV snapshot should be read instead
+     * @throws IllegalStateException if the file is not a binary snapshot of the given schema
+     */
+    public ByteBuffer readBinarySnapshot(int schemaId, int recordSize) {
+        byte[] bytes = GlobalManager.getInstance().getIOManager().readBytesFromFile(filename);
+        if (bytes == null) return null;
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("Invalid record file: " + filename);
+        }
+
+        short version = buffer.getShort();
+        short fileSchemaId = buffer.getShort();
+        short fileRecordSize = buffer.getShort();
+        buffer.getShort(); // Reserved
+        int recordCount = buffer.getInt();
+        long checkpoint = buffer.getLong();
+
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported record file version " + version + ": " + filename);
+        }
+        if (fileSchemaId != schemaId || fileRecordSize != recordSize) {
+            throw new IllegalStateException("Unexpected record schema " + fileSchemaId + ": " + filename);
+        }
+        if (recordCount < 0 || (long) recordCount * recordSize > buffer.remaining()) {
+            throw new IllegalStateException("Truncated record file: " + filename);
+        }
+
+        sequence = checkpoint;
+        pendingEntries = 0;
+        buffer.limit(HEADER_SIZE + recordCount * recordSize);
+
+        return buffer;
+    }
+
+    /**
+     * Allocates a binary snapshot and writes its header, with the current sequence number as the checkpoint.
+     * The records must be put into the buffer before passing it to {@link #compact(ByteBuffer)}.
+     *
+     * @param schemaId    the schema id of the records
+     * @param recordSize  the size of a record, in bytes
+     * @param recordCount the number of records
+     * @return a little-endian buffer positioned at the first record
+     */
+    public ByteBuffer allocateSnapshot(int schemaId, int recordSize, int recordCount) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + recordCount * recordSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) schemaId)
+                .putShort((short) recordSize)
+                .putShort((short) 0)
+                .putInt(recordCount)
+                .putLong(sequence);
+
+        return buffer;
+    }
+
+    /**
+     * Replays the entries of the log that are newer than the snapshot.
+     * Entries that cannot be read are skipped.
+     *
+     * @param visitor the visitor applying each entry to the records
+     */
+    public void replay(EntryVisitor visitor) {
+        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        ArrayList<String> entries = ioManager.readLog(filename);
+
+        for (String entry : entries) {
+            String[] row;
+            try {
+                ArrayList<String[]> rows = CSVParser.parseCSVString(entry);
+                if (rows.size() != 1 || rows.get(0).length < 2 || rows.get(0)[1].length() != 1) continue;
+                row = rows.get(0);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            long entrySequence;
+            try {
+                entrySequence = Long.parseLong(row[0]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+
+            pendingEntries++;
+            if (entrySequence <= sequence) continue; // Already in the snapshot
+
+            sequence = entrySequence;
+            String[] fields = new String[row.length - 2];
+            System.arraycopy(row, 2, fields, 0, fields.length);
+            visitor.apply(row[1].charAt(0), fields);
+        }
+    }
+
+    /**
+     * Appends an entry to the log.
+     *
+     * @param operation the operation of the entry
+     * @param fields    the fields of the entry
+     */
+    public void append(char operation, String... fields) {
+        StringBuilder sb = new StringBuilder();
+        CSVWriter writer = new CSVWriter(sb);
+        writer.field(sequence + 1).field(String.valueOf(operation));
+        for (String field : fields) {
+            writer.field(field);
+        }
+
+        GlobalManager.getInstance().getIOManager().appendToLog(filename, sb.toString());
+        sequence++;
+        pendingEntries++;
+    }
+
+    /**
+     * Checks if enough entries have been appended since the last snapshot to compact the log.
+     *
+     * @return true if the log should be compacted
+     */
+    public boolean shouldCompact() {
+        return pendingEntries >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Writes a new snapshot containing every record and deletes the log.
+     *
+     * @param csvString the CSV content of all records
+     */
+    public void compact(String csvString) {
+        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        ioManager.writeToFile(filename, CHECKPOINT_MARKER + "," + sequence + "\n" + csvString);
+        ioManager.deleteLog(filename);
+        pendingEntries = 0;
+    }
+
+    /**
+     * Writes a new binary snapshot containing every record and deletes the log,
+     * as well as the CSV snapshot the records may have been migrated from.
+     *
+     * @param snapshot the buffer returned by {@link #allocateSnapshot(int, int, int)}, filled with every record
+     */
+    public void compact(ByteBuffer snapshot) {
+        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        ioManager.writeBytesToFile(filename, snapshot.array());
+        ioManager.deleteFile(filename);
+        ioManager.deleteLog(filename);
+        pendingEntries = 0;
+    }
+}
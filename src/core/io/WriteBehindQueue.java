@@ -0,0 +1,273 @@
+package core.io;
+
+import java.io.IOError;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WriteBehindQueue moves file writes off the calling thread onto a single background writer thread.
+ * Pending changes are coalesced per file, so several writes to the same file in quick succession only hit
+ * the disk once, and are flushed after a short debounce or when {@link #flush()} is called.
+ * <p>
+ * Whole-file writes go to a temporary file that is synced and then atomically renamed over the target,
+ * so a crash never leaves a truncated file behind. A flush writes whole files first, then appends to
+ * and replaces the append-only logs, then deletes files. This keeps a snapshot and its record log
+ * consistent at every step, since a log is only deleted once the snapshot that replaces it is on disk.
+ */
+public class WriteBehindQueue {
+    /**
+     * The delay between the first pending change and the flush, in milliseconds.
+     */
+    public static final long DEBOUNCE_MS = 200;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profile-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guards pending and scheduled
+    private final Object lock = new Object();
+
+    // Serializes flushes between the writer thread and callers of flush()
+    private final Object flushLock = new Object();
+
+    private LinkedHashMap<Path, PendingFile> pending = new LinkedHashMap<>();
+    private boolean scheduled = false;
+
+    // Failure of the last background flush, reported by the next call to flush()
+    private IOException failure;
+
+    /**
+     * Writes the whole content of a file.
+     */
+    public interface FileContent {
+        /**
+         * Writes the content to the given file, replacing whatever it holds.
+         *
+         * @param path the file to write to
+         * @throws IOException if the file cannot be written
+         */
+        void writeTo(Path path) throws IOException;
+    }
+
+    /**
+     * Produces data to append to a file.
+     */
+    public interface FileAppend {
+        /**
+         * Builds the bytes to append.
+         *
+         * @param newFile whether the bytes will start a new, empty file
+         * @return the bytes to append
+         */
+        ByteBuffer bytes(boolean newFile);
+    }
+
+    /**
+     * The pending changes to a single file.
+     */
+    private static final class PendingFile {
+        private FileContent content;
+        private boolean delete;
+        private final ArrayList<FileAppend> appends = new ArrayList<>();
+    }
+
+    /**
+     * Queues a write of the whole content of a file, replacing any change to the file that is still pending.
+     *
+     * @param path    the file to write
+     * @param content the content of the file
+     */
+    public void write(Path path, FileContent content) {
+        synchronized (lock) {
+            PendingFile file = pendingFile(path);
+            file.content = content;
+            file.delete = false;
+            file.appends.clear();
+            schedule();
+        }
+    }
+
+    /**
+     * Queues an append to a file, after the changes to the file that are still pending.
+     *
+     * @param path   the file to append to
+     * @param append the data to append
+     */
+    public void append(Path path, FileAppend append) {
+        synchronized (lock) {
+            pendingFile(path).appends.add(append);
+            schedule();
+        }
+    }
+
+    /**
+     * Queues the deletion of a file, replacing any change to the file that is still pending.
+     *
+     * @param path the file to delete
+     */
+    public void delete(Path path) {
+        synchronized (lock) {
+            PendingFile file = pendingFile(path);
+            file.content = null;
+            file.delete = true;
+            file.appends.clear();
+            schedule();
+        }
+    }
+
+    /**
+     * Writes every pending change to disk and waits until it is synced.
+     *
+     * @throws IOError if a pending change, or a change flushed in the background since the last call, could not be written
+     */
+    public void flush() {
+        try {
+            flushPending();
+
+            IOException lastFailure;
+            synchronized (lock) {
+                lastFailure = failure;
+                failure = null;
+            }
+            if (lastFailure != null) throw lastFailure;
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to write profile data: " + e.getMessage(), e));
+        }
+    }
+
+    private PendingFile pendingFile(Path path) {
+        return pending.computeIfAbsent(path, p -> new PendingFile());
+    }
+
+    private void schedule() {
+        if (scheduled) return;
+
+        scheduled = true;
+        writer.schedule(this::flushInBackground, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushInBackground() {
+        synchronized (lock) {
+            scheduled = false;
+        }
+
+        try {
+            flushPending();
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+            }
+        }
+    }
+
+    private void flushPending() throws IOException {
+        synchronized (flushLock) {
+            LinkedHashMap<Path, PendingFile> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+
+            try {
+                // Whole files first, so a log is never replaced or deleted before the snapshot that covers it
+                for (Map.Entry<Path, PendingFile> entry : batch.entrySet()) {
+                    PendingFile file = entry.getValue();
+                    if (file.content == null) continue;
+
+                    replace(entry.getKey(), file.content);
+                    file.content = null;
+                }
+
+                for (Map.Entry<Path, PendingFile> entry : batch.entrySet()) {
+                    PendingFile file = entry.getValue();
+                    if (file.appends.isEmpty()) continue;
+
+                    if (file.delete) {
+                        // The file was deleted and appended to again, so it only holds the new appends
+                        replace(entry.getKey(), path -> appendTo(path, file.appends));
+                        file.delete = false;
+                    } else {
+                        appendTo(entry.getKey(), file.appends);
+                    }
+                    file.appends.clear();
+                }
+
+                for (Map.Entry<Path, PendingFile> entry : batch.entrySet()) {
+                    PendingFile file = entry.getValue();
+                    if (!file.delete) continue;
+
+                    Files.deleteIfExists(entry.getKey());
+                    file.delete = false;
+                }
+            } catch (IOException e) {
+                requeue(batch);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Puts the changes of a failed flush back in front of the changes queued since, so they are retried.
+     */
+    private void requeue(LinkedHashMap<Path, PendingFile> batch) {
+        synchronized (lock) {
+            for (Map.Entry<Path, PendingFile> entry : pending.entrySet()) {
+                PendingFile newer = entry.getValue();
+                PendingFile older = batch.get(entry.getKey());
+
+                if (older == null || newer.content != null || newer.delete) {
+                    batch.put(entry.getKey(), newer);
+                } else {
+                    older.appends.addAll(newer.appends);
+                }
+            }
+
+            pending = batch;
+        }
+    }
+
+    private static void replace(Path path, FileContent content) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(temp); // Left behind by an interrupted flush
+        content.writeTo(temp);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void appendTo(Path path, ArrayList<FileAppend> appends) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (FileAppend append : appends) {
+                ByteBuffer buffer = append.bytes(channel.size() == 0);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            channel.force(false);
+        }
+    }
+}
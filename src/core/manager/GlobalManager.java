@@ -7,6 +7,14 @@ import features.modules.CarbonFootprintAnalyzer.data.GlobalEmissionsPerCapita;
 import features.modules.DailyEcoChallenge.data.ChallengeManager;
 import features.modules.GreenHabitTracker.data.HabitManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * GlobalManager is a singleton class that provides access to global instances
  * of UserManager and IOManager. It ensures that only one instance of each manager
@@ -19,11 +27,20 @@ public class GlobalManager {
 
     private final UserManager userManager;
     private final IOManager ioManager;
-    private final FootprintManager footprintManager;
-    private final ChallengeManager challengeManager;
-    private final HabitManager habitManager;
+    private final ModuleHolder<FootprintManager> footprintManager;
+    private final ModuleHolder<ChallengeManager> challengeManager;
+    private final ModuleHolder<HabitManager> habitManager;
     private final GlobalEmissionsPerCapita globalEmissionsPerCapita;
 
+    // Loads the data of the modules concurrently when all of them are needed at once, one module per thread
+    private final ExecutorService moduleLoader = Executors.newFixedThreadPool(
+            Math.min(3, Runtime.getRuntime().availableProcessors()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "module-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     /**
      * Private constructor to prevent instantiation from outside the class.
      * Initializes the managers for user, IO, footprint, challenge, and habit modules.
@@ -37,9 +54,9 @@ public class GlobalManager {
 
         userManager = new UserManager();
         ioManager = new IOManager();
-        footprintManager = new FootprintManager();
-        challengeManager = new ChallengeManager();
-        habitManager = new HabitManager();
+        footprintManager = new ModuleHolder<>("footprint", new FootprintManager(), FootprintManager::init, FootprintManager::clearRecords);
+        challengeManager = new ModuleHolder<>("challenge", new ChallengeManager(), ChallengeManager::init, ChallengeManager::clearRecords);
+        habitManager = new ModuleHolder<>("habit", new HabitManager(), HabitManager::init, HabitManager::clearRecords);
         globalEmissionsPerCapita = new GlobalEmissionsPerCapita(emissionsDatasetFilePath);
     }
 
@@ -66,18 +83,64 @@ public class GlobalManager {
 
     /**
      * Initializes the managers of each module after user login.
+     * The data of each module is loaded the first time its manager is accessed.
      */
     public void initModuleManagers() {
-        footprintManager.init();
-        challengeManager.init();
-        habitManager.init();
+        footprintManager.enable();
+        challengeManager.enable();
+        habitManager.enable();
     }
 
+    /**
+     * Loads the data of every module of the logged-in user concurrently and waits for all the loads,
+     * so the wait is bounded by the slowest module rather than the sum of all of them.
+     * A module that fails to load does not stop the others, and is loaded again on its next access.
+     *
+     * @return one message per module that failed to load, empty if every module was loaded
+     */
+    public List<String> loadAllModules() {
+        List<Future<?>> loads = Arrays.asList(
+                footprintManager.load(moduleLoader),
+                challengeManager.load(moduleLoader),
+                habitManager.load(moduleLoader)
+        );
+
+        ArrayList<String> failures = new ArrayList<>();
+        for (Future<?> load : loads) {
+            try {
+                load.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add("Interrupted while loading module data.");
+                break;
+            }
+        }
+
+        return failures;
+    }
+
+    /**
+     * Logs out the current user, if any: writes all pending changes, updates the profile catalog
+     * with the record counts of the modules that were loaded, and clears the data of every manager.
+     */
     public void reset() {
+        ioManager.flush();
+        if (userManager.isLoggedIn) {
+            ioManager.getProfileCatalog().recordLogout(
+                    userManager.getUsername(),
+                    footprintManager.isLoaded() ? footprintManager.get().getRecords().size() : -1,
+                    challengeManager.isLoaded() ? challengeManager.get().getRecords().size() : -1,
+                    habitManager.isLoaded() ? habitManager.get().getRecordCount() : -1
+            );
+            ioManager.flush();
+        }
+
         userManager.reset();
-        footprintManager.clearRecords();
-        challengeManager.clearRecords();
-        habitManager.clearRecords();
+        footprintManager.disable();
+        challengeManager.disable();
+        habitManager.disable();
     }
 
     /**
@@ -99,30 +162,30 @@ public class GlobalManager {
     }
 
     /**
-     * Returns the FootprintManager instance.
+     * Returns the FootprintManager instance, loading the records of the logged-in user on first access.
      *
      * @return the FootprintManager instance
      */
     public FootprintManager getFootprintManager() {
-        return footprintManager;
+        return footprintManager.get();
     }
 
     /**
-     * Returns the ChallengeManager instance.
+     * Returns the ChallengeManager instance, loading the records of the logged-in user on first access.
      *
      * @return the ChallengeManager instance
      */
     public ChallengeManager getChallengeManager() {
-        return challengeManager;
+        return challengeManager.get();
     }
 
     /**
-     * Returns the HabitManager instance.
+     * Returns the HabitManager instance, loading the habits of the logged-in user on first access.
      *
      * @return the HabitManager instance
      */
     public HabitManager getHabitManager() {
-        return habitManager;
+        return habitManager.get();
     }
 
     /**
@@ -0,0 +1,103 @@
+package core.manager;
+
+import java.io.IOError;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * ModuleHolder holds the manager of a module and loads its data the first time the manager is accessed
+ * after login, or ahead of time on another thread with {@link #load(ExecutorService)}.
+ * Accessing the manager while it is being loaded waits for that load only.
+ * It tracks whether the data is loaded, so logging out only clears the managers that were actually loaded.
+ *
+ * @param <T> the type of the manager
+ */
+public class ModuleHolder<T> {
+    private final String name;
+    private final T manager;
+    private final Consumer<T> loader;
+    private final Consumer<T> unloader;
+
+    // Whether the data of the current user should be loaded on access
+    private boolean enabled = false;
+    private boolean loaded = false;
+
+    /**
+     * Constructs a ModuleHolder for the given manager.
+     *
+     * @param name     the name of the module, used in error messages
+     * @param manager  the manager of the module
+     * @param loader   loads the data of the logged-in user into the manager
+     * @param unloader clears the data from the manager
+     */
+    public ModuleHolder(String name, T manager, Consumer<T> loader, Consumer<T> unloader) {
+        this.name = name;
+        this.manager = manager;
+        this.loader = loader;
+        this.unloader = unloader;
+    }
+
+    /**
+     * Gets the manager, loading the data of the logged-in user first if it is not loaded yet.
+     * If a load fails, the next access tries again.
+     *
+     * @return the manager
+     * @throws IllegalStateException if the data of the module could not be loaded
+     */
+    public synchronized T get() {
+        if (enabled && !loaded) {
+            try {
+                loader.accept(manager);
+            } catch (RuntimeException | IOError e) {
+                throw new IllegalStateException("Failed to load " + name + " data: " + e.getMessage(), e);
+            }
+            loaded = true;
+        }
+
+        return manager;
+    }
+
+    /**
+     * Starts loading the data of the logged-in user on the given executor.
+     *
+     * @param executor the executor to load the data on
+     * @return the load, which fails with the exception of {@link #get()} if the data could not be loaded
+     */
+    public Future<T> load(ExecutorService executor) {
+        return executor.submit(this::get);
+    }
+
+    /**
+     * Marks the data of a newly logged-in user to be loaded on the next access.
+     * Data loaded for a previous user is cleared first.
+     */
+    public synchronized void enable() {
+        unload();
+        enabled = true;
+    }
+
+    /**
+     * Clears the loaded data, if any, and stops loading data on access until {@link #enable()} is called again.
+     */
+    public synchronized void disable() {
+        unload();
+        enabled = false;
+    }
+
+    /**
+     * Checks whether the data of the logged-in user is loaded.
+     *
+     * @return true if the data is loaded
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private void unload() {
+        if (loaded) {
+            unloader.accept(manager);
+            loaded = false;
+        }
+    }
+}
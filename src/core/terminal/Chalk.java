@@ -24,6 +24,9 @@ public class Chalk {
     private static final String ANSI_CYAN = "\u001B[36m";
     private static final String ANSI_WHITE = "\u001B[37m";
 
+    // Turned off when the output is not read by a person, e.g. in script mode
+    private static volatile boolean enabled = true;
+
     private String string;
 
     public Chalk(String string) {
@@ -31,47 +34,52 @@ public class Chalk {
     }
 
     public Chalk bold() {
-        this.string = ANSI_BOLD + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_BOLD);
     }
 
     public Chalk underline() {
-        this.string = ANSI_UNDERLINE + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_UNDERLINE);
     }
 
     public Chalk red() {
-        this.string = ANSI_RED + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_RED);
     }
 
     public Chalk green() {
-        this.string = ANSI_GREEN + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_GREEN);
     }
 
     public Chalk yellow() {
-        this.string = ANSI_YELLOW + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_YELLOW);
     }
 
     public Chalk blue() {
-        this.string = ANSI_BLUE + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_BLUE);
     }
 
     public Chalk purple() {
-        this.string = ANSI_PURPLE + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_PURPLE);
     }
 
     public Chalk cyan() {
-        this.string = ANSI_CYAN + this.string + ANSI_RESET;
-        return this;
+        return style(ANSI_CYAN);
     }
 
     public Chalk white() {
-        this.string = ANSI_WHITE + this.string + ANSI_RESET;
+        return style(ANSI_WHITE);
+    }
+
+    /**
+     * Sets whether the styles are applied. When disabled, strings are printed without any ANSI escape codes.
+     *
+     * @param enabled true to apply the styles
+     */
+    public static void setEnabled(boolean enabled) {
+        Chalk.enabled = enabled;
+    }
+
+    private Chalk style(String code) {
+        if (enabled) this.string = code + this.string + ANSI_RESET;
         return this;
     }
 
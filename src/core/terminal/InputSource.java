@@ -0,0 +1,102 @@
+package core.terminal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+
+/**
+ * InputSource is the single source of the lines typed by the user, shared by the REPL prompt,
+ * the prompts for missing positional arguments and the handlers that ask for confirmation.
+ * <p>
+ * Every prompt reads from the same buffered reader, so lines read ahead from a pipe or a script are never lost
+ * between two prompts, and a run driven by a script answers its prompts with the next lines of the script.
+ * The REPL replaces the source when it runs a script, and another source can be set the same way,
+ * e.g. a reader over a fixed string of answers.
+ */
+public class InputSource {
+    private static volatile InputSource instance;
+
+    private final BufferedReader reader;
+    private int lineNumber = 0;
+
+    /**
+     * Constructs an InputSource reading from the given reader.
+     *
+     * @param reader the reader the lines are read from
+     */
+    public InputSource(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Gets the shared InputSource, which reads from the standard input unless another source was set.
+     *
+     * @return the shared InputSource
+     */
+    public static InputSource getInstance() {
+        if (instance == null) {
+            synchronized (InputSource.class) {
+                if (instance == null) {
+                    instance = new InputSource(new BufferedReader(new InputStreamReader(System.in)));
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Replaces the shared InputSource.
+     *
+     * @param source the source every prompt reads from from now on
+     */
+    public static void setInstance(InputSource source) {
+        instance = source;
+    }
+
+    /**
+     * Reads the next line, or returns null once the input is exhausted.
+     * Standard output is flushed first, since it is buffered.
+     *
+     * @return the line, without the line terminator, or null at the end of the input
+     * @throws UncheckedIOException if the input cannot be read
+     */
+    public String readLine() {
+        // Shows the prompt and the output of the previous command before waiting
+        System.out.flush();
+
+        try {
+            String line = reader.readLine();
+            if (line != null) lineNumber++;
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read input: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the number of lines read so far, which is the line number of the last line read.
+     *
+     * @return the number of lines read
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Reads the next line, for a prompt that cannot go on without an answer.
+     *
+     * @return the line, without the line terminator
+     * @throws IllegalStateException if the input is exhausted
+     * @throws UncheckedIOException  if the input cannot be read
+     */
+    public String nextLine() {
+        String line = readLine();
+        if (line == null) {
+            throw new IllegalStateException("No more input to answer the prompt.");
+        }
+
+        return line;
+    }
+}
@@ -3,6 +3,11 @@ package core.terminal;
 import core.manager.GlobalManager;
 import features.auth.data.UserManager;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
 /**
  * Collection of utility methods for outputting stuff to the terminal.
  */
@@ -11,6 +16,11 @@ public class OutputUtils {
     private static final String SEPARATOR_HEAVY = "═══════════════════════════════════════";
     private static final String SEPARATOR_LIGHT = "───────────────────────────────────────";
 
+    private static final int STANDARD_OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    // Set whenever an error is printed, since most handlers report a failure by printing an error and returning
+    private static boolean errorReported = false;
+
     /**
      * Prints the header of the application to the terminal.
      * This includes the logo and a welcome message.
@@ -48,6 +58,18 @@ public class OutputUtils {
         System.out.println(new Chalk("[SUCCESS] ").green() + message);
     }
 
+    /**
+     * Checks whether an error was printed since the last call, and clears the flag.
+     * This is how script and batch modes detect a command that failed without throwing.
+     *
+     * @return true if an error was printed since the last call
+     */
+    public static boolean takeErrorReported() {
+        boolean reported = errorReported;
+        errorReported = false;
+        return reported;
+    }
+
     public static void printError(String message) {
         printError(message, true, null);
     }
@@ -61,6 +83,9 @@ public class OutputUtils {
     }
 
     public static void printError(String message, boolean printHelpString, String commandName) {
+        // Keeps the error after the output printed before it
+        System.out.flush();
+        errorReported = true;
         System.err.println(new Chalk("[ERROR] " + message).red());
 
         if (!printHelpString) return;
@@ -94,14 +119,16 @@ public class OutputUtils {
      * Prints a data row with consistent formatting
      */
     public static void printDataRow(String label, String value) {
-        System.out.printf("  %-25s %s%n", label + ":", value);
+        RenderBuffer buffer = RenderBuffer.getInstance();
+        buffer.append("  ").padRight(label + ":", 25).append(' ').append(value).newline();
+        buffer.flush();
     }
 
     /**
      * Prints a data row with colored value
      */
     public static void printDataRow(String label, Chalk valueWithColor) {
-        System.out.printf("  %-25s %s%n", label + ":", valueWithColor.toString());
+        printDataRow(label, valueWithColor.toString());
     }
 
     /**
@@ -195,17 +222,17 @@ public class OutputUtils {
      */
     public static void printChartBar(String label, double value, double maxValue, int width) {
         int barLength = (int) Math.round((value / maxValue) * width);
-        
-        StringBuilder bar = new StringBuilder();
-        for (int i = 0; i < barLength; i++) {
-            bar.append("O");
-        }
-        for (int i = barLength; i < width; i++) {
-            bar.append(" ");
+
+        StringBuilder bar = new StringBuilder(width);
+        for (int i = 0; i < width; i++) {
+            bar.append(i < barLength ? 'O' : ' ');
         }
-        
-        System.out.printf("%-8s | %s %.2f%n", label, 
-            new Chalk(bar.toString()).green(), value);
+
+        RenderBuffer buffer = RenderBuffer.getInstance();
+        buffer.padRight(label, 8).append(" | ")
+                .append(new Chalk(bar.toString()).green()).append(' ')
+                .appendFixed(value, 2).newline();
+        buffer.flush();
     }
 
     /**
@@ -221,6 +248,16 @@ public class OutputUtils {
         }
     }
 
+    /**
+     * Replaces standard output with a stream that is not flushed on every line,
+     * so output is written to the terminal in large chunks.
+     * It is flushed before reading input, before printing an error and on exit, which is at least once per command.
+     */
+    public static void bufferStandardOutput() {
+        System.setOut(new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(FileDescriptor.out), STANDARD_OUTPUT_BUFFER_SIZE), false));
+    }
+
     /**
      * Prints a closing message with spacing
      */
@@ -0,0 +1,194 @@
+package core.terminal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * RenderBuffer builds terminal output, such as tables and charts, in a reusable StringBuilder
+ * and writes it to standard output in large chunks instead of one formatted write per row.
+ * Standard output itself is only flushed to the terminal once per command, see {@link OutputUtils#bufferStandardOutput()}.
+ * <p>
+ * Padding and fixed-point numbers are written directly into the buffer, giving the same text as
+ * {@code %-Ns} and {@code %.Nf} in {@link String#format(String, Object...)} without parsing a format string per value,
+ * including the decimal separator of the default locale.
+ * The buffer is shared by the whole application and is only used from the thread running the commands.
+ */
+public class RenderBuffer {
+    // Written to standard output once the buffer holds this many characters, so large tables use bounded memory
+    private static final int FLUSH_THRESHOLD = 1 << 15;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    // Values with an absolute value above this are formatted by String.format, since they may not fit in a long once scaled
+    private static final double MAX_FAST_VALUE = 1e12;
+
+    private static final RenderBuffer INSTANCE = new RenderBuffer();
+
+    private final StringBuilder sb = new StringBuilder(FLUSH_THRESHOLD + 1024);
+
+    // Symbols of the default format locale, looked up again only when that locale changes
+    private Locale locale;
+    private DecimalFormatSymbols symbols;
+
+    private RenderBuffer() {
+    }
+
+    /**
+     * Gets the shared RenderBuffer.
+     *
+     * @return the shared RenderBuffer
+     */
+    public static RenderBuffer getInstance() {
+        return INSTANCE;
+    }
+
+    public RenderBuffer append(String value) {
+        sb.append(value);
+        return this;
+    }
+
+    public RenderBuffer append(Object value) {
+        sb.append(value);
+        return this;
+    }
+
+    public RenderBuffer append(char value) {
+        sb.append(value);
+        return this;
+    }
+
+    public RenderBuffer append(long value) {
+        sb.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a character several times.
+     *
+     * @param value the character to append
+     * @param count the number of times to append it
+     * @return this RenderBuffer
+     */
+    public RenderBuffer repeat(char value, int count) {
+        for (int i = 0; i < count; i++) {
+            sb.append(value);
+        }
+        return this;
+    }
+
+    /**
+     * Appends a string, left-aligned and padded with spaces to the given width, like {@code %-Ns}.
+     * Longer strings are not truncated.
+     *
+     * @param value the string to append
+     * @param width the minimum width
+     * @return this RenderBuffer
+     */
+    public RenderBuffer padRight(String value, int width) {
+        sb.append(value);
+        return repeat(' ', width - value.length());
+    }
+
+    /**
+     * Appends a number, left-aligned and padded with spaces to the given width, like {@code %-Nd}.
+     *
+     * @param value the number to append
+     * @param width the minimum width
+     * @return this RenderBuffer
+     */
+    public RenderBuffer padRight(long value, int width) {
+        int start = sb.length();
+        sb.append(value);
+        return repeat(' ', width - (sb.length() - start));
+    }
+
+    /**
+     * Appends a number with a fixed number of decimals, left-aligned and padded with spaces to the given width,
+     * like {@code %-W.Df}.
+     *
+     * @param value    the number to append
+     * @param decimals the number of decimals, from 0 to 6
+     * @param width    the minimum width
+     * @return this RenderBuffer
+     */
+    public RenderBuffer padRight(double value, int decimals, int width) {
+        int start = sb.length();
+        appendFixed(value, decimals);
+        return repeat(' ', width - (sb.length() - start));
+    }
+
+    /**
+     * Appends a number with a fixed number of decimals, rounded half up, like {@code %.Nf}.
+     *
+     * @param value    the number to append
+     * @param decimals the number of decimals, from 0 to 6
+     * @return this RenderBuffer
+     */
+    public RenderBuffer appendFixed(double value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported number of decimals: " + decimals);
+        }
+
+        DecimalFormatSymbols symbols = getSymbols();
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) > MAX_FAST_VALUE
+                || symbols.getZeroDigit() != '0') {
+            sb.append(String.format("%." + decimals + "f", value));
+            return this;
+        }
+
+        long scale = POWERS_OF_TEN[decimals];
+        double abs = Math.abs(value);
+        double scaled = abs * scale;
+
+        // The rounding of a value that sits on a tie, once scaled, depends on its shortest decimal representation,
+        // which is what String.format rounds from
+        long units;
+        double fraction = scaled - Math.floor(scaled);
+        if (Math.abs(fraction - 0.5) < 1e-6) {
+            units = new BigDecimal(Double.toString(abs)).movePointRight(decimals)
+                    .setScale(0, RoundingMode.HALF_UP).longValue();
+        } else {
+            units = Math.round(scaled);
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) sb.append('-');
+
+        sb.append(units / scale);
+        if (decimals > 0) {
+            sb.append(symbols.getDecimalSeparator());
+            long remainder = units % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + remainder / digit % 10));
+            }
+        }
+        return this;
+    }
+
+    private DecimalFormatSymbols getSymbols() {
+        Locale current = Locale.getDefault(Locale.Category.FORMAT);
+        if (!current.equals(locale)) {
+            locale = current;
+            symbols = DecimalFormatSymbols.getInstance(current);
+        }
+        return symbols;
+    }
+
+    public RenderBuffer newline() {
+        sb.append(System.lineSeparator());
+        if (sb.length() >= FLUSH_THRESHOLD) flush();
+        return this;
+    }
+
+    /**
+     * Hands the buffered output to standard output. It must be called once the output is complete,
+     * before anything is printed to standard output directly.
+     */
+    public void flush() {
+        if (sb.length() == 0) return;
+
+        System.out.append(sb);
+        sb.setLength(0);
+    }
+}
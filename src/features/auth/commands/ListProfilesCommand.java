@@ -1,5 +1,8 @@
 package features.auth.commands;
 
+import core.cli.arguments.ArgumentDataType;
+import core.cli.arguments.ArgumentList;
+import core.cli.arguments.KeywordArgument;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import features.auth.data.UserManager;
@@ -10,7 +13,12 @@ public class ListProfilesCommand extends CommandInstance {
         super(
                 "list-profiles",
                 "Lists all profiles in the system.",
-                "",
+                "--prefix al --page 2",
+                new ArgumentList(
+                        new KeywordArgument("prefix", "p", "Only list the profiles whose name starts with this prefix.", ArgumentDataType.STRING, false),
+                        new KeywordArgument("page", "n", "The page of profiles to display, starting from 1.", ArgumentDataType.INTEGER, false),
+                        new KeywordArgument("size", "s", "The number of profiles per page (default: 20).", ArgumentDataType.INTEGER, false)
+                ),
                 new ListProfileHandler()
         );
     }
@@ -2,6 +2,7 @@ package features.auth.commands;
 
 import core.cli.arguments.ArgumentDataType;
 import core.cli.arguments.ArgumentList;
+import core.cli.arguments.KeywordArgument;
 import core.cli.arguments.PositionalArgument;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
@@ -16,7 +17,8 @@ public class LoginCommand extends CommandInstance {
                 "johndoe mypassword",
                 new ArgumentList(
                         new PositionalArgument("username", "Username of the your profile", ArgumentDataType.STRING),
-                        new PositionalArgument("password", "Password of the your profile", ArgumentDataType.STRING)
+                        new PositionalArgument("password", "Password of the your profile", ArgumentDataType.STRING),
+                        new KeywordArgument("all", "a", "Load the data of every module right away.", ArgumentDataType.FLAG, false)
                 ),
                 new LoginHandler()
         );
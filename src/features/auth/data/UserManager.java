@@ -4,10 +4,16 @@ import core.io.IOManager;
 import core.manager.GlobalManager;
 import core.instances.JSONObject;
 import features.auth.instances.Password;
+import features.auth.instances.PasswordVerifier;
+
+import javax.crypto.SecretKey;
 
 public class UserManager {
     private String username;
     private Password password;
+
+    // Key of the profile files, derived from the password once per login
+    private SecretKey key;
     private double footprintGoal = 0.0;
     private String footprintCountry = "";
     private String todayChallengeId = "";
@@ -20,9 +26,14 @@ public class UserManager {
         // The validation is done inside the Password constructor
         // which means if the password object is created successfully, we can assume the password is valid.
         this.password = new Password(password);
+        byte[] salt = PasswordVerifier.newSalt();
+        this.key = this.password.deriveKey(salt);
+        ioManager.writeProfileVerifier(PasswordVerifier.create(salt, key).toBytes());
         this.username = username;
         isLoggedIn = true;
 
+        ioManager.getProfileCatalog().recordSignup(username);
+
         GlobalManager.getInstance().initModuleManagers();
     }
 
@@ -30,9 +41,29 @@ public class UserManager {
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
         ioManager.initUserProfile(username, false);
 
-        JSONObject data = ioManager.parseStringFromFile("profile", password);
+        Password pwd = new Password(password);
+        SecretKey derivedKey;
+        JSONObject data;
+
+        byte[] verifierRecord = ioManager.readProfileVerifier();
+        boolean legacyProfile = verifierRecord == null;
+        if (!legacyProfile) {
+            // A wrong password is rejected here, without reading any profile file
+            derivedKey = PasswordVerifier.fromBytes(verifierRecord).verify(pwd);
+            data = ioManager.parseStringFromFile("profile", pwd, derivedKey);
+        } else {
+            // Profiles created before verifiers existed are checked by decrypting the profile file
+            byte[] salt = PasswordVerifier.newSalt();
+            derivedKey = pwd.deriveKey(salt);
+            data = ioManager.parseStringFromFile("profile", pwd, derivedKey);
+
+            // The salt must be on disk before any file is encrypted with the key derived from it
+            ioManager.writeProfileVerifier(PasswordVerifier.create(salt, derivedKey).toBytes());
+            ioManager.flush();
+        }
 
-        this.password = new Password(password);
+        this.password = pwd;
+        this.key = derivedKey;
         this.username = username;
         this.footprintGoal = data.getDouble("footprintGoal");
         this.footprintCountry = data.getString("footprintCountry");
@@ -40,12 +71,18 @@ public class UserManager {
         this.todayChallengeId = challengeId != null ? challengeId : "";
         isLoggedIn = true;
 
+        // The profile file of a legacy profile is still encrypted with the password, rewrite it with the key
+        if (legacyProfile) writeToFile();
+
+        ioManager.getProfileCatalog().recordLogin(username);
+
         GlobalManager.getInstance().initModuleManagers();
     }
 
     public void reset() {
         username = null;
         password = null;
+        key = null;
         todayChallengeId = "";
         footprintGoal = 0.0;
         footprintCountry = "";
@@ -60,6 +97,10 @@ public class UserManager {
         return password;
     }
 
+    public SecretKey getKey() {
+        return key;
+    }
+
     public double getFootprintGoal() {
         return footprintGoal;
     }
@@ -1,29 +1,63 @@
 package features.auth.handlers;
 
 import core.cli.commands.CommandInstance;
+import core.instances.Timestamp;
 import core.io.IOManager;
+import core.io.ProfileCatalog;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
 import core.terminal.OutputUtils;
 
 public class ListProfileHandler extends CommandInstance.Handler {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     @Override
     public void run() {
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
-        String[] profiles = ioManager.listProfiles();
 
-        if (profiles.length == 0) {
-            OutputUtils.printError("No profiles found.", false);
+        String prefix = argsMap.get("prefix");
+        int page = args.getInt("page", 1);
+        int pageSize = args.getInt("size", DEFAULT_PAGE_SIZE);
+
+        if (page < 1 || pageSize < 1) {
+            OutputUtils.printError("The page and the page size must be positive numbers.", false);
+            return;
+        }
+
+        ProfileCatalog.Page profiles = ioManager.getProfileCatalog().search(
+                prefix != null ? prefix : "",
+                (int) Math.min((long) (page - 1) * pageSize, Integer.MAX_VALUE),
+                pageSize
+        );
+
+        if (profiles.getTotal() == 0) {
+            OutputUtils.printError(prefix != null ? "No profiles found starting with '" + prefix + "'." : "No profiles found.", false);
             System.out.println(new Chalk("Type 'signup <username> <password>' to create a new profile.").yellow());
             return;
         }
 
+        int pageCount = (profiles.getTotal() + pageSize - 1) / pageSize;
+        if (profiles.getEntries().isEmpty()) {
+            OutputUtils.printError("Page " + page + " does not exist, there are " + pageCount + " page(s).", false);
+            return;
+        }
+
         System.out.println();
-        System.out.printf(new Chalk("Found %d profile(s):%n%n").bold().toString(), profiles.length);
-        for (String profile : profiles) {
-            System.out.println("  - " + profile);
+        System.out.printf(new Chalk("Found %d profile(s), page %d of %d:%n%n").bold().toString(), profiles.getTotal(), page, pageCount);
+        for (ProfileCatalog.Entry profile : profiles.getEntries()) {
+            System.out.printf("  - %-20s %s%n", profile.getName(), new Chalk(describe(profile)).cyan());
         }
         System.out.println();
         System.out.println(new Chalk("Type 'login <username> <password>' to log in to a profile.").yellow());
     }
+
+    private static String describe(ProfileCatalog.Entry profile) {
+        String lastLogin = profile.getLastLogin() > 0 ? new Timestamp(profile.getLastLogin()).toString() : "unknown";
+        String records = profile.getRecordCount() >= 0 ? String.valueOf(profile.getRecordCount()) : "unknown";
+        String size = profile.getSizeOnDisk() >= 0 ? String.format("%.1f KB", profile.getSizeOnDisk() / 1024.0) : "unknown";
+
+        return "created " + new Timestamp(profile.getCreatedAt()) +
+                ", last login " + lastLogin +
+                ", " + records + " record(s), " + size;
+    }
 }
@@ -22,5 +22,12 @@ public class LoginHandler extends CommandInstance.Handler {
 
         userManager.login(username, password);
         OutputUtils.printSuccess("Login successful for user: " + new Chalk(username).bold().cyan());
+
+        // Otherwise each module is loaded by the first command that needs it
+        if (args.has("all")) {
+            for (String failure : GlobalManager.getInstance().loadAllModules()) {
+                OutputUtils.printError(failure, false);
+            }
+        }
     }
 }
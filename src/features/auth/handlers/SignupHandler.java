@@ -2,13 +2,12 @@ package features.auth.handlers;
 
 import core.cli.commands.CommandInstance;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import core.manager.GlobalManager;
 import features.auth.data.UserManager;
 import features.auth.instances.Password;
 
-import java.util.Scanner;
-
 public class SignupHandler extends CommandInstance.Handler {
     @Override
     public void run() {
@@ -30,11 +29,11 @@ public class SignupHandler extends CommandInstance.Handler {
 
         int retryCount = 0;
 
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
 
         while (retryCount < 3) {
             System.out.print("Enter your password again for confirmation: ");
-            String confirmPassword = scanner.nextLine();
+            String confirmPassword = input.nextLine();
 
             if (password.equals(confirmPassword)) break;
             OutputUtils.printError("Passwords do not match. Please try again.", false);
@@ -1,11 +1,21 @@
 package features.auth.instances;
 
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+
 public class Password {
     // A prefix to be added to the text before encryption due to the nature of XOR encryption
     // that will still properly decrypt a string despite having slightly altered password
     // but the text decrypted will not match the original text.
     private final String PREFIX = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()";
 
+    // Parameters of the PBKDF2 derivation of the file encryption key
+    static final int KEY_DERIVATION_ITERATIONS = 120000;
+    private static final int KEY_BITS = 256;
+
     private final String password;
 
     /**
@@ -101,4 +111,36 @@ public class Password {
 
         return decryptedText.substring(PREFIX.length()); // Remove the prefix added during encryption
     }
+
+    /**
+     * Derives the AES key used to encrypt the profile files from the password, using PBKDF2 with HMAC-SHA256.
+     * This is deliberately slow, so it should be done once per login and the key kept for the session.
+     *
+     * @param salt the random salt of the user profile
+     * @return the derived AES key
+     * @throws IllegalStateException if PBKDF2 is not available
+     */
+    public SecretKey deriveKey(byte[] salt) {
+        return deriveKey(salt, KEY_DERIVATION_ITERATIONS);
+    }
+
+    /**
+     * Derives the AES key used to encrypt the profile files from the password, with the given number of PBKDF2 iterations.
+     *
+     * @param salt       the random salt of the user profile
+     * @param iterations the number of iterations
+     * @return the derived AES key
+     * @throws IllegalStateException if PBKDF2 is not available
+     */
+    public SecretKey deriveKey(byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            return new SecretKeySpec(key, "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive the encryption key: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
 }
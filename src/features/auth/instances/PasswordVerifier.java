@@ -0,0 +1,141 @@
+package features.auth.instances;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * A small fixed-size record stored at the root of a user profile, used to check a password
+ * without reading or decrypting any profile file.
+ * It holds the salt and iteration count the file encryption key is derived with, and a keyed hash
+ * (HMAC-SHA256) of a constant made with that key. A password is correct if the key derived from it
+ * produces the same hash, and the verified key is then used for every file of the profile.
+ * <p>
+ * The record is 60 bytes, little-endian: the magic bytes {@code ECOV}, the format version, a reserved short,
+ * the iteration count, the 16-byte salt and the 32-byte hash.
+ */
+public class PasswordVerifier {
+    /**
+     * The size of the record, in bytes.
+     */
+    public static final int SIZE = 60;
+
+    private static final int SALT_SIZE = 16;
+    private static final int HASH_SIZE = 32;
+
+    // "ECOV" read as a little-endian int
+    private static final int MAGIC = 0x564F4345;
+    private static final short FORMAT_VERSION = 1;
+
+    private static final byte[] VERIFIER_MESSAGE = "eco-profile-password-verifier".getBytes(StandardCharsets.UTF_8);
+
+    private final int iterations;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    private PasswordVerifier(int iterations, byte[] salt, byte[] hash) {
+        this.iterations = iterations;
+        this.salt = salt;
+        this.hash = hash;
+    }
+
+    /**
+     * Generates a new random salt to derive the key of a profile with.
+     *
+     * @return the salt
+     */
+    public static byte[] newSalt() {
+        byte[] salt = new byte[SALT_SIZE];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * Creates the verifier of a key derived with {@link Password#deriveKey(byte[])}.
+     *
+     * @param salt the salt the key was derived with
+     * @param key  the derived key
+     * @return the verifier
+     */
+    public static PasswordVerifier create(byte[] salt, SecretKey key) {
+        return new PasswordVerifier(Password.KEY_DERIVATION_ITERATIONS, salt.clone(), hash(key));
+    }
+
+    /**
+     * Reads a verifier from its record.
+     *
+     * @param bytes the record
+     * @return the verifier
+     * @throws IllegalArgumentException if the record is not a valid verifier
+     */
+    public static PasswordVerifier fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length != SIZE || buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Invalid password verifier record.");
+        }
+
+        buffer.getShort(); // Reserved
+        int iterations = buffer.getInt();
+        byte[] salt = new byte[SALT_SIZE];
+        byte[] hash = new byte[HASH_SIZE];
+        buffer.get(salt).get(hash);
+
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Invalid password verifier record.");
+        }
+
+        return new PasswordVerifier(iterations, salt, hash);
+    }
+
+    /**
+     * Writes the verifier as a record.
+     *
+     * @return the record
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putShort((short) 0)
+                .putInt(iterations)
+                .put(salt)
+                .put(hash)
+                .array();
+    }
+
+    /**
+     * Checks a password against the verifier, comparing the hashes in constant time.
+     *
+     * @param password the password to check
+     * @return the key derived from the password, which encrypts the files of the profile
+     * @throws IllegalStateException if the password is wrong
+     */
+    public SecretKey verify(Password password) {
+        SecretKey key = password.deriveKey(salt, iterations);
+        if (!MessageDigest.isEqual(hash, hash(key))) {
+            throw new IllegalStateException("Incorrect password. Please check your password.");
+        }
+
+        return key;
+    }
+
+    private static byte[] hash(SecretKey key) {
+        byte[] encoded = key.getEncoded();
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(encoded, "HmacSHA256"));
+            return mac.doFinal(VERIFIER_MESSAGE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to hash the encryption key: " + e.getMessage(), e);
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+}
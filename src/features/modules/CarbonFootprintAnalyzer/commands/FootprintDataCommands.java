@@ -13,6 +13,7 @@ public class FootprintDataCommands extends CommandInstance {
                         new FootprintDataEditCommand(),
                         new FootprintDataDeleteCommand(),
                         new FootprintDataExportCommand(),
+                        new FootprintDataImportCommand(),
                         new FootprintDataClearCommand()
                 }
         );
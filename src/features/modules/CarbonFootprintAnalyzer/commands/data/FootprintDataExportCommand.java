@@ -4,15 +4,28 @@ import core.cli.arguments.ArgumentDataType;
 import core.cli.arguments.ArgumentList;
 import core.cli.arguments.KeywordArgument;
 import core.cli.commands.CommandInstance;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintFactors;
 import features.modules.CarbonFootprintAnalyzer.handlers.data.FootprintDataExportHandler;
+import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
+
+import java.util.Arrays;
 
 public class FootprintDataExportCommand extends CommandInstance {
     public FootprintDataExportCommand() {
         super("export", "Exports your carbon footprint data to a CSV file.",
-                "-f my_footprint.csv",
+                "-f my_footprint.csv --from 2025-01-01 --to 2025-12-31 --gzip",
                 new ArgumentList(
-                        new KeywordArgument("f", "file", "The name of the file to export your carbon footprint data to.", ArgumentDataType.STRING, false),
-                        new KeywordArgument("d", "directory", "The directory where the file will be saved.", ArgumentDataType.STRING, false)
+                        new KeywordArgument("file", "f", "The name of the file to export your carbon footprint data to.", ArgumentDataType.STRING, false),
+                        new KeywordArgument("directory", "d", "The directory where the file will be saved.", ArgumentDataType.STRING, false),
+                        new KeywordArgument("from", "s", "Only export records from this date on (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                        new KeywordArgument("to", "e", "Only export records up to this date (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                        new KeywordArgument("activity", "a", "Only export records of this activity.",
+                                new ArgumentDataType("enum",
+                                        Arrays.stream(FootprintFactors.FACTORS)
+                                                .map(FootprintFactor::getAbbreviation)
+                                                .toArray(String[]::new)
+                                ), false),
+                        new KeywordArgument("gzip", "z", "Compress the exported file with gzip.", ArgumentDataType.FLAG, false)
                 ),
                 new FootprintDataExportHandler()
         );
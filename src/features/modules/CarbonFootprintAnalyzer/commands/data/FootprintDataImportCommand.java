@@ -0,0 +1,21 @@
+package features.modules.CarbonFootprintAnalyzer.commands.data;
+
+import core.cli.arguments.ArgumentDataType;
+import core.cli.arguments.ArgumentList;
+import core.cli.arguments.PositionalArgument;
+import core.cli.commands.CommandInstance;
+import features.modules.CarbonFootprintAnalyzer.handlers.data.FootprintDataImportHandler;
+
+public class FootprintDataImportCommand extends CommandInstance {
+    public FootprintDataImportCommand() {
+        super(
+                "import",
+                "Import carbon footprint records from a CSV file of activity, amount and timestamp rows",
+                "my_footprint.csv",
+                new ArgumentList(
+                        new PositionalArgument("file", "The path of the CSV file to import, optionally gzip compressed", ArgumentDataType.STRING)
+                ),
+                new FootprintDataImportHandler()
+        );
+    }
+}
@@ -63,4 +63,35 @@ public class FootprintFactors {
         // This should never happen as the input is validated correctly,
         throw new IllegalArgumentException("No footprint factor found for abbreviation: " + abbreviation);
     }
+
+    /**
+     * Retrieves the numeric id of a FootprintFactor, which is its position in {@link #FACTORS}.
+     * Used to store the factor of a record compactly.
+     *
+     * @param factor The footprint factor.
+     * @return The id of the footprint factor.
+     */
+    public static int getFactorId(FootprintFactor factor) {
+        for (int i = 0; i < FACTORS.length; i++) {
+            if (FACTORS[i] == factor) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown footprint factor: " + factor.getAbbreviation());
+    }
+
+    /**
+     * Retrieves a FootprintFactor by its numeric id.
+     *
+     * @param id The id of the footprint factor.
+     * @return The FootprintFactor corresponding to the id.
+     */
+    public static FootprintFactor getFactorById(int id) {
+        if (id < 0 || id >= FACTORS.length) {
+            throw new IllegalArgumentException("No footprint factor found for id: " + id);
+        }
+
+        return FACTORS[id];
+    }
 }
@@ -0,0 +1,235 @@
+package features.modules.CarbonFootprintAnalyzer.data;
+
+import core.instances.Timestamp;
+import core.io.CSVParser;
+import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Reads footprint records in bulk from CSV rows of (activity, amount, timestamp), such as the files written
+ * by the export command, and prepares them to be merged into a {@link FootprintRecordStore} at once.
+ * <p>
+ * Rows are parsed as they are streamed in and collected into primitive columns, without creating a
+ * FootprintRecord per row. Invalid rows are kept with the reason they were rejected, so they can be reported.
+ * Once every row is read, {@link #prepare(FootprintRecordStore)} sorts the valid rows by timestamp
+ * and drops the ones that duplicate an existing record or an earlier row, comparing (factor, amount, timestamp).
+ * Timestamps are either epoch milliseconds or local dates in the format yyyy-MM-dd.
+ */
+public class FootprintImporter {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Built once per import, so validating a row does not scan every factor
+    private final HashMap<String, FootprintFactor> factorsByAbbreviation = new HashMap<>();
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    private FootprintFactor[] factors = new FootprintFactor[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private final ArrayList<String[]> rejectedRows = new ArrayList<>();
+    private int duplicateCount = 0;
+    private final long now = System.currentTimeMillis();
+
+    /**
+     * Constructs an empty FootprintImporter.
+     */
+    public FootprintImporter() {
+        for (FootprintFactor factor : FootprintFactors.FACTORS) {
+            factorsByAbbreviation.put(factor.getAbbreviation().toLowerCase(Locale.ROOT), factor);
+        }
+    }
+
+    /**
+     * Reads every row from the given reader. A header row at the start of the input is skipped.
+     * The reader is not closed by this method.
+     *
+     * @param reader the reader providing the CSV rows
+     * @throws IOException              if an error occurs while reading
+     * @throws IllegalArgumentException if the input is not valid CSV
+     */
+    public void read(Reader reader) throws IOException {
+        CSVParser.parse(reader, this::readRow);
+    }
+
+    /**
+     * Sorts the valid rows by timestamp and removes the duplicates, both of records already in the store
+     * and of earlier rows of the import.
+     *
+     * @param store the store the rows will be merged into
+     */
+    public void prepare(FootprintRecordStore store) {
+        // Imports from other trackers are usually sorted already, so the sort is skipped when possible
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = timestamps[i - 1] <= timestamps[i];
+        }
+        if (!sorted) sortByTimestamp();
+
+        int kept = 0;
+        int groupStart = 0;
+        for (int i = 0; i < count; i++) {
+            if (kept == 0 || timestamps[kept - 1] != timestamps[i]) groupStart = kept;
+
+            if (store.contains(factors[i], amounts[i], timestamps[i]) || isDuplicateInGroup(groupStart, kept, i)) {
+                duplicateCount++;
+                continue;
+            }
+
+            timestamps[kept] = timestamps[i];
+            amounts[kept] = amounts[i];
+            factors[kept] = factors[i];
+            kept++;
+        }
+
+        Arrays.fill(factors, kept, count, null);
+        count = kept;
+    }
+
+    /**
+     * Gets the timestamps of the valid rows, sorted in ascending order once {@link #prepare(FootprintRecordStore)} is called.
+     * Only the first {@link #getCount()} elements are used.
+     *
+     * @return the timestamps of the rows
+     */
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public double[] getAmounts() {
+        return amounts;
+    }
+
+    public FootprintFactor[] getFactors() {
+        return factors;
+    }
+
+    /**
+     * Gets the number of valid rows to import.
+     *
+     * @return the number of rows
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of valid rows dropped as duplicates.
+     *
+     * @return the number of duplicates
+     */
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Gets the rejected rows, each as its line number, the reason it was rejected and its original fields.
+     *
+     * @return the rejected rows
+     */
+    public ArrayList<String[]> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    private void readRow(CSVParser.Row row) {
+        if (row.size() < 3) {
+            reject(row, "Expected 3 fields: activity, amount, timestamp");
+            return;
+        }
+
+        FootprintFactor factor = factorsByAbbreviation.get(row.get(0).trim().toLowerCase(Locale.ROOT));
+        double amount;
+        long timestamp;
+        try {
+            amount = Double.parseDouble(row.get(1).trim());
+            timestamp = parseTimestamp(row.get(2).trim());
+        } catch (IllegalArgumentException e) {
+            if (row.getLineNumber() == 1 && factor == null) return; // Header row
+
+            reject(row, e instanceof NumberFormatException ? "Invalid number: " + e.getMessage() : e.getMessage());
+            return;
+        }
+
+        if (factor == null) {
+            reject(row, "Unknown activity: " + row.get(0));
+        } else if (!(amount > 0) || Double.isInfinite(amount)) {
+            reject(row, "The amount must be a positive non-zero number");
+        } else if (timestamp > now) {
+            reject(row, "The timestamp is in the future");
+        } else {
+            add(factor, amount, timestamp);
+        }
+    }
+
+    private static long parseTimestamp(String value) {
+        if (value.indexOf('-') > 0) {
+            return Timestamp.startOfEpochDay(Timestamp.parseEpochDay(value));
+        }
+
+        return Long.parseLong(value);
+    }
+
+    private void add(FootprintFactor factor, double amount, long timestamp) {
+        if (count == timestamps.length) {
+            int newCapacity = count * 2;
+            timestamps = Arrays.copyOf(timestamps, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            factors = Arrays.copyOf(factors, newCapacity);
+        }
+
+        timestamps[count] = timestamp;
+        amounts[count] = amount;
+        factors[count] = factor;
+        count++;
+    }
+
+    private void reject(CSVParser.Row row, String reason) {
+        String[] fields = row.toArray();
+        String[] rejected = new String[fields.length + 2];
+        rejected[0] = String.valueOf(row.getLineNumber());
+        rejected[1] = reason;
+        System.arraycopy(fields, 0, rejected, 2, fields.length);
+
+        rejectedRows.add(rejected);
+    }
+
+    /**
+     * Checks if a row has the same values as one of the rows already kept with the same timestamp.
+     */
+    private boolean isDuplicateInGroup(int groupStart, int kept, int i) {
+        for (int k = groupStart; k < kept; k++) {
+            if (factors[k] == factors[i] && amounts[k] == amounts[i]) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Sorts the rows by timestamp, keeping rows with equal timestamps in their original order.
+     */
+    private void sortByTimestamp() {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(timestamps[a], timestamps[b]));
+
+        long[] sortedTimestamps = new long[timestamps.length];
+        double[] sortedAmounts = new double[amounts.length];
+        FootprintFactor[] sortedFactors = new FootprintFactor[factors.length];
+        for (int i = 0; i < count; i++) {
+            sortedTimestamps[i] = timestamps[order[i]];
+            sortedAmounts[i] = amounts[order[i]];
+            sortedFactors[i] = factors[order[i]];
+        }
+
+        timestamps = sortedTimestamps;
+        amounts = sortedAmounts;
+        factors = sortedFactors;
+    }
+}
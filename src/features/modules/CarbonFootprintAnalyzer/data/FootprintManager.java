@@ -2,62 +2,87 @@ package features.modules.CarbonFootprintAnalyzer.data;
 
 import core.instances.Timestamp;
 import core.io.CSVParser;
+import core.io.ExportOptions;
 import core.io.IOManager;
+import core.io.RecordLog;
 import core.manager.GlobalManager;
 import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
 import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
+import features.modules.CarbonFootprintAnalyzer.instances.GoalStreak;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.io.IOError;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 
 /**
  * Manages carbon footprint records for the logged-in user.
  * Handles creation, storage, retrieval, and analysis of footprint data.
+ * Records are held in a column-oriented {@link FootprintRecordStore} sorted by timestamp and indexed by day,
+ * so time-based queries are binary searches that return views instead of copied arrays.
+ * Changes are appended to a {@link RecordLog} instead of rewriting the whole records file,
+ * and snapshots are stored as fixed-width binary records (long timestamp, double amount, short factor id).
  */
 public class FootprintManager {
-    private ArrayList<FootprintRecord> records;
+    private final FootprintRecordStore records = new FootprintRecordStore();
+    private final RecordLog log = new RecordLog("footprint_records");
+
+    // Operations of the entries in the record log
+    private static final char ADD = 'A';
+    private static final char UPDATE = 'U';
+    private static final char DELETE = 'D';
+
+    // Binary snapshot schema
+    private static final int SCHEMA_ID = 1;
+    private static final int RECORD_SIZE = Long.BYTES + Double.BYTES + Short.BYTES;
 
     /**
-     * Initializes the FootprintManager by loading existing records from storage.
+     * Initializes the FootprintManager by loading the records snapshot from storage and replaying the changes
+     * logged since. Records stored as CSV by earlier versions are migrated to a binary snapshot.
      * If no records file exists, creates a new empty records list.
      */
     public void init() {
-        IOManager ioManager = GlobalManager.getInstance().getIOManager();
-
-        if (!ioManager.existsFile("footprint_records")) {
-            records = new ArrayList<>();
-            ioManager.writeToFile("footprint_records", "");
+        records.clear();
 
-            return;
+        // The store keeps itself sorted by timestamp, and snapshots are written in that order, so records are appended
+        ByteBuffer snapshot = log.readBinarySnapshot(SCHEMA_ID, RECORD_SIZE);
+        if (snapshot != null) {
+            while (snapshot.hasRemaining()) {
+                long timestamp = snapshot.getLong();
+                double amount = snapshot.getDouble();
+                FootprintFactor factor = FootprintFactors.getFactorById(snapshot.getShort());
+                records.insert(records.nextIndex(), factor, amount, timestamp);
+            }
+        } else {
+            loadCSVSnapshot();
         }
 
-        String csvString = ioManager.parseStringFromFile("footprint_records");
-        Object[] csvData = CSVParser.parseCSVString(csvString).stream().sorted(
-                Comparator.comparingLong(a -> Long.parseLong(a[2]))
-        ).toArray();
-        records = new ArrayList<>();
-
-        for (int i = 0; i < csvData.length; i++) {
-            String[] row = (String[]) csvData[i];
-            if (row.length < 3) continue; // Skip invalid rows
+        log.replay(this::applyLogEntry);
+        if (snapshot == null || log.shouldCompact()) writeRecordsToFile();
+    }
 
-            String activity = row[0];
-            float amount;
-            Timestamp timestamp;
+    /**
+     * Loads the records from a CSV snapshot written by an earlier version.
+     */
+    private void loadCSVSnapshot() {
+        String csvString = log.readSnapshot();
 
-            FootprintFactor factor = FootprintFactors.getFactorByAbbreviation(activity);
+        CSVParser.parseCSVString(csvString, row -> {
+            if (row.size() < 3) return; // Skip invalid rows
 
+            FootprintFactor factor = FootprintFactors.getFactorByAbbreviation(row.get(0));
+            float amount;
+            long timestamp;
 
             try {
-                amount = Float.parseFloat(row[1]);
-                timestamp = new Timestamp(Long.parseLong(row[2]));
+                amount = Float.parseFloat(row.get(1));
+                timestamp = row.getLong(2);
             } catch (NumberFormatException e) {
-                continue; // Skip rows with invalid number formats
+                return; // Skip rows with invalid number formats
             }
 
-            FootprintRecord record = new FootprintRecord(i, factor, amount, timestamp);
-            records.add(record);
-        }
+            records.insert(records.nextIndex(), factor, amount, timestamp);
+        });
     }
 
     /**
@@ -67,77 +92,54 @@ public class FootprintManager {
      * @return the FootprintRecord with the specified index, or null if not found
      */
     public FootprintRecord getRecordByIndex(int index) {
-        for (FootprintRecord record : records) {
-            if (record.getIndex() == index) {
-                return record;
-            }
-        }
-
-        return null;
+        int position = records.findByIndex(index);
+        return position != -1 ? records.get(position) : null;
     }
 
     /**
      * Gets all footprint records.
      *
-     * @return the list of all footprint records
+     * @return a view over all footprint records, sorted by timestamp
      */
-    public ArrayList<FootprintRecord> getRecords() {
-        return records;
+    public FootprintRecordStore.View getRecords() {
+        return records.all();
     }
 
     /**
      * Retrieves all records that were logged on a specific date.
      *
      * @param date the date to filter records by
-     * @return an array of FootprintRecord objects from the specified date
+     * @return a view over the records from the specified date
      */
-    public FootprintRecord[] getRecordsByDate(Timestamp date) {
-        return records.stream()
-                .filter(record -> record.getTimestamp().getYear() == date.getYear() &&
-                        record.getTimestamp().getMonth() == date.getMonth() &&
-                        record.getTimestamp().getDay() == date.getDay())
-                .toArray(FootprintRecord[]::new);
+    public FootprintRecordStore.View getRecordsByDate(Timestamp date) {
+        return records.day(date.epochDay());
     }
 
     /**
      * Retrieves all records from the last X days.
      *
      * @param days the number of days to look back
-     * @return an array of FootprintRecord objects from the last X days
+     * @return a view over the records from the last X days
      */
-    public FootprintRecord[] getRecordsForLastXDays(int days) {
+    public FootprintRecordStore.View getRecordsForLastXDays(int days) {
         long startTimestamp = System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L);
 
-        return records.stream()
-                .filter(record -> record.getTimestamp().getTimestamp() >= startTimestamp)
-                .toArray(FootprintRecord[]::new);
+        return records.range(records.lowerBound(startTimestamp), records.size());
     }
     
     /**
      * Groups all records by day of the week for the last 7 days.
      *
-     * @return a 2D array where each sub-array contains records for a specific day of the week
+     * @return an array of views where each view contains records for a specific day of the week
      */
-    public FootprintRecord[][] getRecordsGroupedByWeekDay() {
-        FootprintRecord[][] allRecords = new FootprintRecord[7][];
+    public FootprintRecordStore.View[] getRecordsGroupedByWeekDay() {
+        FootprintRecordStore.View[] allRecords = new FootprintRecordStore.View[7];
 
-        Timestamp t = new Timestamp();
-        t.setHour(0);
-        t.setMinute(0);
-        t.setSecond(0);
-        t.setMillisecond(0);
-
-
-        while (t.getDayOfWeek() != 1) {
-            t.subtract("day", 1);
-        }
+        Timestamp today = new Timestamp();
+        long monday = today.epochDay() - (today.getDayOfWeek() - 1);
 
         for (int i = 0; i < 7; i++) {
-            Timestamp startOfDay = new Timestamp(t.getTimestamp());
-            t.add("day", 1);
-            Timestamp endOfDay = new Timestamp(t.getTimestamp() - 1);
-            FootprintRecord[] records = getRecordsForPeriod(startOfDay, endOfDay);
-            allRecords[i] = records;
+            allRecords[i] = records.day(monday + i);
         }
         
         return allRecords;
@@ -148,14 +150,73 @@ public class FootprintManager {
      *
      * @param factor the footprint factor to filter by
      * @param days   the number of days to look back
-     * @return an array of FootprintRecord objects for the specified factor and time period
+     * @return a view over the records for the specified factor and time period
      */
-    public FootprintRecord[] getRecordsForFactor(FootprintFactor factor, int days) {
+    public FootprintRecordStore.View getRecordsForFactor(FootprintFactor factor, int days) {
         long startTimestamp = System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L);
 
-        return records.stream()
-                .filter(record -> record.getFactor().equals(factor) && record.getTimestamp().getTimestamp() >= startTimestamp)
-                .toArray(FootprintRecord[]::new);
+        return records.range(records.lowerBound(startTimestamp), records.size(), factor);
+    }
+
+    /**
+     * Computes the current and longest streaks of days whose total estimated footprint stayed within a goal.
+     * Days are counted from the day of the first record up to today, and days without records count as
+     * within the goal. This is a single pass over the per-day totals of the epoch-day index,
+     * so it takes time proportional to the number of records, not to the number of days times records.
+     *
+     * @param goal the daily goal in kg CO2e
+     * @return the current streak (ending today) and the longest streak
+     */
+    public GoalStreak getGoalStreak(double goal) {
+        if (records.dayCount() == 0) {
+            return new GoalStreak(goal, 0, 0);
+        }
+
+        long today = new Timestamp().epochDay();
+        boolean emptyDayWithinGoal = goal >= 0;
+
+        int streak = 0;
+        int longestStreak = 0;
+        long previousDay = records.getIndexedDay(0) - 1;
+
+        for (int k = 0; k < records.dayCount(); k++) {
+            long day = records.getIndexedDay(k);
+            if (day > today) break;
+
+            // Days between the previous day with records and this one have no records at all
+            long emptyDays = day - previousDay - 1;
+            if (emptyDays > 0) {
+                streak = emptyDayWithinGoal ? (int) (streak + emptyDays) : 0;
+                longestStreak = Math.max(longestStreak, streak);
+            }
+
+            if (records.indexedDay(k).getTotalEstimatedFootprint() <= goal) {
+                streak++;
+                longestStreak = Math.max(longestStreak, streak);
+            } else {
+                streak = 0;
+            }
+
+            previousDay = day;
+        }
+
+        // Days after the last record up to today
+        long emptyDays = today - previousDay;
+        if (emptyDays > 0) {
+            streak = emptyDayWithinGoal ? (int) (streak + emptyDays) : 0;
+            longestStreak = Math.max(longestStreak, streak);
+        }
+
+        return new GoalStreak(goal, streak, longestStreak);
+    }
+
+    /**
+     * Gets the index to give to the next new record, which no other record uses.
+     *
+     * @return the index of the next record
+     */
+    public int getNextRecordIndex() {
+        return records.nextIndex();
     }
 
     /**
@@ -164,8 +225,11 @@ public class FootprintManager {
      * @param record the FootprintRecord to add
      */
     public void addRecord(FootprintRecord record) {
-        records.add(record);
-        writeRecordsToFile();
+        long timestamp = record.getTimestamp().getTimestamp();
+        records.insert(record.getIndex(), record.getFactor(), record.getAmount(), timestamp);
+
+        log.append(ADD, record.getFactor().getAbbreviation(), Double.toString(record.getAmount()), Long.toString(timestamp));
+        compactIfNeeded();
     }
 
     /**
@@ -177,12 +241,16 @@ public class FootprintManager {
      * @throws IllegalArgumentException if the record is not found in the list
      */
     public void updateRecord(FootprintRecord record, FootprintFactor factor, double amount) {
-        int index = records.indexOf(record);
-        if (index == -1) {
+        int position = records.findByIndex(record.getIndex());
+        if (position == -1) {
             throw new IllegalArgumentException("Record not found in the list.");
         }
-        records.set(index, new FootprintRecord(record.getIndex(), factor, amount, record.getTimestamp()));
-        writeRecordsToFile();
+
+        String[] key = logKey(position);
+        records.update(position, factor, amount);
+
+        log.append(UPDATE, key[0], key[1], factor.getAbbreviation(), Double.toString(amount));
+        compactIfNeeded();
     }
 
     /**
@@ -191,8 +259,14 @@ public class FootprintManager {
      * @param record the FootprintRecord to remove
      */
     public void removeRecord(FootprintRecord record) {
-        records.remove(record);
-        writeRecordsToFile();
+        int position = records.findByIndex(record.getIndex());
+        if (position == -1) return;
+
+        String[] key = logKey(position);
+        records.remove(position);
+
+        log.append(DELETE, key[0], key[1]);
+        compactIfNeeded();
     }
 
     /**
@@ -213,50 +287,152 @@ public class FootprintManager {
     }
 
     /**
-     * Exports all footprint records to a CSV file.
+     * Exports the footprint records within the date range of the options to a CSV file.
+     * The records are streamed to the file one row at a time, so no copy of the records is built in memory.
+     *
+     * @param options the export options
+     * @param factor  the only footprint factor to export, or null to export all factors
+     * @return the number of exported records
      */
-    public void exportRecords() {
-        String csvString = toCSVString();
+    public int exportRecords(ExportOptions options, FootprintFactor factor) {
+        int start = records.lowerBound(options.getFromTimestamp());
+        int end = records.lowerBound(options.getToTimestamp());
+        int[] exported = {0};
+
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
-        ioManager.exportToFile("footprint_records_export.csv", csvString);
+        ioManager.exportToFile(options, writer -> {
+            for (int i = start; i < end; i++) {
+                if (factor != null && records.getFactor(i) != factor) continue;
+
+                writer.field(records.getFactor(i).getAbbreviation())
+                        .field(records.getAmount(i))
+                        .field(records.getTimestamp(i))
+                        .endRow();
+                exported[0]++;
+            }
+        });
+
+        return exported[0];
     }
 
     /**
-     * Writes all records to the storage file.
+     * Imports footprint records in bulk from a CSV file of (activity, amount, timestamp) rows.
+     * The file is streamed through the parser, the valid rows that are not duplicates are merged into the
+     * sorted records in a single pass, and the records are persisted once, as a new snapshot.
+     * Rejected rows are written to a report file in the exports folder.
+     *
+     * @param filePath the path of the file, relative to the working directory
+     * @return the importer holding the imported rows, the number of duplicates and the rejected rows
+     * @throws IllegalArgumentException if the file does not exist or is not valid CSV
+     * @throws IOError                  if the file cannot be read
      */
-    private void writeRecordsToFile() {
+    public FootprintImporter importRecords(String filePath) {
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        FootprintImporter importer = new FootprintImporter();
+
+        try (Reader reader = ioManager.openImportFile(filePath)) {
+            importer.read(reader);
+        } catch (IOException e) {
+            throw new IOError(new IOException("Failed to read file: " + filePath, e));
+        }
+
+        importer.prepare(records);
+        if (importer.getCount() > 0) {
+            records.merge(importer.getTimestamps(), importer.getAmounts(), importer.getFactors(),
+                    importer.getCount(), records.nextIndex());
+            writeRecordsToFile();
+        }
+
+        if (!importer.getRejectedRows().isEmpty()) {
+            ioManager.exportToFile(ExportOptions.toFile("footprint_import_report.csv"), writer -> {
+                writer.writeRow("line", "reason", "activity", "amount", "timestamp");
+                for (String[] row : importer.getRejectedRows()) {
+                    writer.writeRow(row);
+                }
+            });
+        }
 
-        String csvString = toCSVString();
-        ioManager.writeToFile("footprint_records", csvString);
+        return importer;
     }
 
     /**
-     * Converts all records to a CSV string format.
-     *
-     * @return a CSV string representation of all records
+     * Writes all records to a new binary snapshot, replacing the record log.
      */
-    private String toCSVString() {
-        ArrayList<String[]> csvData = new ArrayList<>();
-        for (FootprintRecord record : records) {
-            csvData.add(record.toArray());
+    private void writeRecordsToFile() {
+        ByteBuffer snapshot = log.allocateSnapshot(SCHEMA_ID, RECORD_SIZE, records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            snapshot.putLong(records.getTimestamp(i))
+                    .putDouble(records.getAmount(i))
+                    .putShort((short) FootprintFactors.getFactorId(records.getFactor(i)));
         }
 
-        return CSVParser.toCSVString(csvData);
+        log.compact(snapshot);
     }
-    
+
+    /**
+     * Writes a new snapshot once enough changes have been logged since the last one.
+     */
+    private void compactIfNeeded() {
+        if (log.shouldCompact()) writeRecordsToFile();
+    }
+
+    /**
+     * Identifies the record at a position in a way that survives a reload, by its timestamp and its rank
+     * among the records with the same timestamp. Record indices are reassigned on every load, so they cannot be used.
+     *
+     * @param position the position of the record
+     * @return the timestamp and the rank of the record
+     */
+    private String[] logKey(int position) {
+        long timestamp = records.getTimestamp(position);
+        return new String[]{Long.toString(timestamp), Integer.toString(position - records.lowerBound(timestamp))};
+    }
+
+    /**
+     * Applies an entry of the record log while loading. Entries referring to records that no longer exist are skipped.
+     *
+     * @param operation the operation of the entry
+     * @param fields    the fields of the entry
+     */
+    private void applyLogEntry(char operation, String[] fields) {
+        try {
+            switch (operation) {
+                case ADD: {
+                    if (fields.length < 3) return;
+                    FootprintFactor factor = FootprintFactors.getFactorByAbbreviation(fields[0]);
+                    records.insert(records.nextIndex(), factor, Double.parseDouble(fields[1]), Long.parseLong(fields[2]));
+                    break;
+                }
+                case UPDATE: {
+                    if (fields.length < 4) return;
+                    int position = findLogKey(fields[0], fields[1]);
+                    if (position == -1) return;
+                    FootprintFactor factor = FootprintFactors.getFactorByAbbreviation(fields[2]);
+                    records.update(position, factor, Double.parseDouble(fields[3]));
+                    break;
+                }
+                case DELETE: {
+                    if (fields.length < 2) return;
+                    int position = findLogKey(fields[0], fields[1]);
+                    if (position != -1) records.remove(position);
+                    break;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Skip entries with invalid factors or number formats
+        }
+    }
+
     /**
-     * Gets records within a specific time period.
+     * Finds the record identified by {@link #logKey(int)}.
      *
-     * @param start the start timestamp
-     * @param end   the end timestamp
-     * @return an array of FootprintRecord objects within the specified period
+     * @return the position of the record, or -1 if there is no such record
      */
-    private FootprintRecord[] getRecordsForPeriod(Timestamp start, Timestamp end) {
-        return records.stream()
-                .filter(record ->
-                        record.getTimestamp().getTimestamp() >= start.getTimestamp()
-                                && record.getTimestamp().getTimestamp() <= end.getTimestamp())
-                .toArray(FootprintRecord[]::new);
+    private int findLogKey(String timestampField, String rankField) {
+        long timestamp = Long.parseLong(timestampField);
+        int position = records.lowerBound(timestamp) + Integer.parseInt(rankField);
+
+        return position < records.size() && records.getTimestamp(position) == timestamp ? position : -1;
     }
 }
@@ -0,0 +1,601 @@
+package features.modules.CarbonFootprintAnalyzer.data;
+
+import core.instances.Timestamp;
+import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
+import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Column-oriented storage for carbon footprint records.
+ * Instead of keeping one FootprintRecord object (plus its Timestamp) per entry, every field is stored
+ * in its own primitive array, and the rows are always kept sorted by timestamp.
+ * <p>
+ * FootprintRecord objects are only created when a caller actually asks for one,
+ * and queries return {@link View}s over a range of rows instead of copying them into a new array.
+ * <p>
+ * An epoch-day index maps every local calendar day that has records to the position of its first record,
+ * so day and date range lookups are a binary search over days instead of over every record.
+ */
+public class FootprintRecordStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] amounts = new double[INITIAL_CAPACITY];
+    private byte[] factorIds = new byte[INITIAL_CAPACITY];
+    private int[] indices = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    // One more than the highest index ever inserted, so indices are never reused, not even after a removal
+    private int nextIndex = 0;
+
+    // Epoch-day index: the distinct days with records in ascending order, and the position of each day's first record
+    private long[] dayKeys = new long[INITIAL_CAPACITY];
+    private int[] dayStarts = new int[INITIAL_CAPACITY];
+    private int dayCount = 0;
+    private boolean dayIndexValid = true;
+
+    /**
+     * Gets the number of records in the store.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts a new record, keeping the rows sorted by timestamp.
+     * Records with equal timestamps keep their insertion order.
+     *
+     * @param index     the unique index of the record
+     * @param factor    the footprint factor of the record
+     * @param amount    the amount of activity performed
+     * @param timestamp the time of the record in epoch milliseconds
+     * @return the position the record was inserted at
+     */
+    public int insert(int index, FootprintFactor factor, double amount, long timestamp) {
+        ensureCapacity(size + 1);
+
+        int position = upperBound(timestamp);
+        int tail = size - position;
+
+        if (tail > 0) {
+            System.arraycopy(timestamps, position, timestamps, position + 1, tail);
+            System.arraycopy(amounts, position, amounts, position + 1, tail);
+            System.arraycopy(factorIds, position, factorIds, position + 1, tail);
+            System.arraycopy(indices, position, indices, position + 1, tail);
+        }
+
+        timestamps[position] = timestamp;
+        amounts[position] = amount;
+        factorIds[position] = (byte) FootprintFactors.getFactorId(factor);
+        indices[position] = index;
+        size++;
+        nextIndex = Math.max(nextIndex, index + 1);
+
+        if (position == size - 1 && dayIndexValid) {
+            // Appending, which is the usual case when logging, only touches the end of the index
+            long day = Timestamp.toEpochDay(timestamp);
+            if (dayCount == 0 || dayKeys[dayCount - 1] != day) {
+                appendDay(day, position);
+            }
+        } else {
+            dayIndexValid = false;
+        }
+
+        return position;
+    }
+
+    /**
+     * Merges a batch of records sorted by timestamp into the store in a single pass, from the back,
+     * so every existing record moves at most once. On equal timestamps, existing records come first,
+     * like with {@link #insert(int, FootprintFactor, double, long)}.
+     *
+     * @param newTimestamps the timestamps of the new records in ascending order
+     * @param newAmounts    the amounts of the new records
+     * @param newFactors    the footprint factors of the new records
+     * @param count         the number of new records
+     * @param firstIndex    the unique index of the first new record, the next ones are numbered consecutively
+     */
+    public void merge(long[] newTimestamps, double[] newAmounts, FootprintFactor[] newFactors, int count, int firstIndex) {
+        if (count == 0) return;
+        ensureCapacity(size + count);
+
+        int existing = size - 1;
+        int added = count - 1;
+        for (int target = size + count - 1; added >= 0; target--) {
+            if (existing >= 0 && timestamps[existing] > newTimestamps[added]) {
+                timestamps[target] = timestamps[existing];
+                amounts[target] = amounts[existing];
+                factorIds[target] = factorIds[existing];
+                indices[target] = indices[existing];
+                existing--;
+            } else {
+                timestamps[target] = newTimestamps[added];
+                amounts[target] = newAmounts[added];
+                factorIds[target] = (byte) FootprintFactors.getFactorId(newFactors[added]);
+                indices[target] = firstIndex + added;
+                added--;
+            }
+        }
+
+        size += count;
+        nextIndex = Math.max(nextIndex, firstIndex + count);
+        dayIndexValid = false;
+    }
+
+    /**
+     * Checks if the store holds a record with exactly the given values.
+     *
+     * @param factor    the footprint factor
+     * @param amount    the amount
+     * @param timestamp the time in epoch milliseconds
+     * @return true if such a record exists
+     */
+    public boolean contains(FootprintFactor factor, double amount, long timestamp) {
+        int factorId = FootprintFactors.getFactorId(factor);
+        for (int i = lowerBound(timestamp); i < size && timestamps[i] == timestamp; i++) {
+            if (factorIds[i] == factorId && amounts[i] == amount) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets an index that no record in the store uses.
+     *
+     * @return one more than the highest index inserted since the store was last cleared
+     */
+    public int nextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Replaces the factor and amount of the record at the given position.
+     * The timestamp is left untouched, so the sort order is preserved.
+     *
+     * @param position the position of the record
+     * @param factor   the new footprint factor
+     * @param amount   the new amount
+     */
+    public void update(int position, FootprintFactor factor, double amount) {
+        checkPosition(position);
+
+        factorIds[position] = (byte) FootprintFactors.getFactorId(factor);
+        amounts[position] = amount;
+    }
+
+    /**
+     * Removes the record at the given position.
+     *
+     * @param position the position of the record
+     */
+    public void remove(int position) {
+        checkPosition(position);
+
+        int tail = size - position - 1;
+        if (tail > 0) {
+            System.arraycopy(timestamps, position + 1, timestamps, position, tail);
+            System.arraycopy(amounts, position + 1, amounts, position, tail);
+            System.arraycopy(factorIds, position + 1, factorIds, position, tail);
+            System.arraycopy(indices, position + 1, indices, position, tail);
+        }
+
+        size--;
+        dayIndexValid = false;
+    }
+
+    /**
+     * Removes all records from the store.
+     */
+    public void clear() {
+        size = 0;
+        nextIndex = 0;
+        dayCount = 0;
+        dayIndexValid = true;
+    }
+
+    /**
+     * Finds the position of the record with the given unique index.
+     *
+     * @param index the unique index of the record
+     * @return the position of the record, or -1 if not found
+     */
+    public int findByIndex(int index) {
+        for (int i = 0; i < size; i++) {
+            if (indices[i] == index) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the first position whose timestamp is greater than or equal to the given timestamp.
+     *
+     * @param timestamp the timestamp in epoch milliseconds
+     * @return the first matching position, or {@link #size()} if every record is older
+     */
+    public int lowerBound(long timestamp) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the first position whose timestamp is strictly greater than the given timestamp.
+     *
+     * @param timestamp the timestamp in epoch milliseconds
+     * @return the first matching position, or {@link #size()} if no record is newer
+     */
+    public int upperBound(long timestamp) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the position of the first record on or after the given local day.
+     *
+     * @param epochDay the local day, counted in days since 1970-01-01
+     * @return the first matching position, or {@link #size()} if every record is older
+     */
+    public int dayStart(long epochDay) {
+        ensureDayIndex();
+
+        int low = 0;
+        int high = dayCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dayKeys[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low < dayCount ? dayStarts[low] : size;
+    }
+
+    /**
+     * Returns a view over the records of a single local day.
+     *
+     * @param epochDay the local day, counted in days since 1970-01-01
+     * @return a view over the records of that day
+     */
+    public View day(long epochDay) {
+        return days(epochDay, epochDay + 1);
+    }
+
+    /**
+     * Returns a view over the records of a range of local days.
+     *
+     * @param fromEpochDay the first day (inclusive)
+     * @param toEpochDay   the last day (exclusive)
+     * @return a view over the records of those days
+     */
+    public View days(long fromEpochDay, long toEpochDay) {
+        return range(dayStart(fromEpochDay), dayStart(toEpochDay));
+    }
+
+    /**
+     * Gets the number of distinct local days that have at least one record.
+     *
+     * @return the number of days in the epoch-day index
+     */
+    public int dayCount() {
+        ensureDayIndex();
+        return dayCount;
+    }
+
+    /**
+     * Gets a day of the epoch-day index. Days are sorted in ascending order.
+     *
+     * @param k the position in the index, from 0 to {@link #dayCount()} - 1
+     * @return the epoch day at that position
+     */
+    public long getIndexedDay(int k) {
+        ensureDayIndex();
+        if (k < 0 || k >= dayCount) {
+            throw new IndexOutOfBoundsException("Day " + k + " out of bounds for " + dayCount + " days");
+        }
+
+        return dayKeys[k];
+    }
+
+    /**
+     * Returns a view over the records of a day of the epoch-day index.
+     *
+     * @param k the position in the index, from 0 to {@link #dayCount()} - 1
+     * @return a view over the records of that day
+     */
+    public View indexedDay(int k) {
+        getIndexedDay(k);
+        return range(dayStarts[k], k + 1 < dayCount ? dayStarts[k + 1] : size);
+    }
+
+    public long getTimestamp(int position) {
+        checkPosition(position);
+        return timestamps[position];
+    }
+
+    public double getAmount(int position) {
+        checkPosition(position);
+        return amounts[position];
+    }
+
+    public FootprintFactor getFactor(int position) {
+        checkPosition(position);
+        return FootprintFactors.getFactorById(factorIds[position]);
+    }
+
+    public int getIndex(int position) {
+        checkPosition(position);
+        return indices[position];
+    }
+
+    /**
+     * Creates a FootprintRecord object for the record at the given position.
+     *
+     * @param position the position of the record
+     * @return a new FootprintRecord holding the values of the row
+     */
+    public FootprintRecord get(int position) {
+        checkPosition(position);
+
+        return new FootprintRecord(
+                indices[position],
+                FootprintFactors.getFactorById(factorIds[position]),
+                amounts[position],
+                new Timestamp(timestamps[position])
+        );
+    }
+
+    /**
+     * Returns a view over every record in the store.
+     *
+     * @return a view over all records
+     */
+    public View all() {
+        return new View(0, size, -1);
+    }
+
+    /**
+     * Returns a view over the records between two positions.
+     *
+     * @param from the first position (inclusive)
+     * @param to   the last position (exclusive)
+     * @return a view over the given range
+     */
+    public View range(int from, int to) {
+        return new View(from, to, -1);
+    }
+
+    /**
+     * Returns a view over the records of a single factor between two positions.
+     *
+     * @param from   the first position (inclusive)
+     * @param to     the last position (exclusive)
+     * @param factor the footprint factor to keep
+     * @return a view over the matching records of the given range
+     */
+    public View range(int from, int to, FootprintFactor factor) {
+        return new View(from, to, FootprintFactors.getFactorId(factor));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= timestamps.length) return;
+
+        int newCapacity = Math.max(capacity, timestamps.length * 2);
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        amounts = Arrays.copyOf(amounts, newCapacity);
+        factorIds = Arrays.copyOf(factorIds, newCapacity);
+        indices = Arrays.copyOf(indices, newCapacity);
+    }
+
+    private void ensureDayIndex() {
+        if (dayIndexValid) return;
+
+        dayCount = 0;
+        for (int i = 0; i < size; i++) {
+            long day = Timestamp.toEpochDay(timestamps[i]);
+            if (dayCount == 0 || dayKeys[dayCount - 1] != day) {
+                appendDay(day, i);
+            }
+        }
+
+        dayIndexValid = true;
+    }
+
+    private void appendDay(long day, int position) {
+        if (dayCount == dayKeys.length) {
+            dayKeys = Arrays.copyOf(dayKeys, dayCount * 2);
+            dayStarts = Arrays.copyOf(dayStarts, dayCount * 2);
+        }
+
+        dayKeys[dayCount] = day;
+        dayStarts[dayCount] = position;
+        dayCount++;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * A read-only window over a contiguous range of the store, optionally restricted to a single factor.
+     * Views do not copy any data, so they should be used right away and not kept across
+     * changes to the store.
+     */
+    public class View implements Iterable<FootprintRecord> {
+        private final int from;
+        private final int to;
+        private final int factorId;
+        private int size = -1;
+
+        private View(int from, int to, int factorId) {
+            this.from = Math.max(0, from);
+            this.to = Math.max(this.from, Math.min(to, FootprintRecordStore.this.size));
+            this.factorId = factorId;
+        }
+
+        /**
+         * Gets the number of records in this view.
+         *
+         * @return the number of records
+         */
+        public int size() {
+            if (size == -1) {
+                if (factorId == -1) {
+                    size = to - from;
+                } else {
+                    int count = 0;
+                    for (int i = from; i < to; i++) {
+                        if (factorIds[i] == factorId) count++;
+                    }
+                    size = count;
+                }
+            }
+
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * Gets the record at the given position of this view.
+         *
+         * @param i the position inside the view
+         * @return a new FootprintRecord holding the values of the row
+         */
+        public FootprintRecord get(int i) {
+            return FootprintRecordStore.this.get(toStorePosition(i));
+        }
+
+        public long getTimestamp(int i) {
+            return timestamps[toStorePosition(i)];
+        }
+
+        public double getAmount(int i) {
+            return amounts[toStorePosition(i)];
+        }
+
+        public FootprintFactor getFactor(int i) {
+            return FootprintFactors.getFactorById(factorIds[toStorePosition(i)]);
+        }
+
+        public double getEstimatedFootprint(int i) {
+            int position = toStorePosition(i);
+            return FootprintFactors.getFactorById(factorIds[position]).getEstimatedFootprint(amounts[position]);
+        }
+
+        /**
+         * Sums the estimated footprint of every record in this view.
+         *
+         * @return the total footprint in kg CO2e
+         */
+        public double getTotalEstimatedFootprint() {
+            double total = 0;
+            for (int i = from; i < to; i++) {
+                if (factorId != -1 && factorIds[i] != factorId) continue;
+                total += FootprintFactors.FACTORS[factorIds[i]].getEstimatedFootprint(amounts[i]);
+            }
+
+            return total;
+        }
+
+        /**
+         * Collects count, sum, min, max and average of the estimated footprint of every record in this view.
+         *
+         * @return the summary statistics of the estimated footprints
+         */
+        public DoubleSummaryStatistics getEstimatedFootprintStatistics() {
+            DoubleSummaryStatistics statistics = new DoubleSummaryStatistics();
+            for (int i = from; i < to; i++) {
+                if (factorId != -1 && factorIds[i] != factorId) continue;
+                statistics.accept(FootprintFactors.FACTORS[factorIds[i]].getEstimatedFootprint(amounts[i]));
+            }
+
+            return statistics;
+        }
+
+        @Override
+        public Iterator<FootprintRecord> iterator() {
+            return new Iterator<FootprintRecord>() {
+                private int position = nextMatch(from);
+
+                @Override
+                public boolean hasNext() {
+                    return position < to;
+                }
+
+                @Override
+                public FootprintRecord next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    FootprintRecord record = FootprintRecordStore.this.get(position);
+                    position = nextMatch(position + 1);
+                    return record;
+                }
+            };
+        }
+
+        private int nextMatch(int position) {
+            while (factorId != -1 && position < to && factorIds[position] != factorId) {
+                position++;
+            }
+
+            return position;
+        }
+
+        private int toStorePosition(int i) {
+            if (i < 0 || i >= size()) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + size());
+            }
+
+            if (factorId == -1) {
+                return from + i;
+            }
+
+            int position = nextMatch(from);
+            for (int skipped = 0; skipped < i; skipped++) {
+                position = nextMatch(position + 1);
+            }
+
+            return position;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package features.modules.CarbonFootprintAnalyzer.data;
+
+import core.io.CSVParser;
+import features.modules.CarbonFootprintAnalyzer.instances.GlobalEmissionPerCapitaRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Loads the global CO₂ emissions per capita dataset.
+ * <p>
+ * The file is memory-mapped and split into newline-aligned chunks that are parsed in parallel on the
+ * common fork/join pool. Fields are parsed straight from the mapped bytes, without decoding every line
+ * into a String first. Rows that cannot be parsed are collected as errors instead of aborting the load.
+ * <p>
+ * Quoted entity names (e.g. "Bonaire, Sint Eustatius and Saba") are supported,
+ * but rows may not contain line breaks inside quotes.
+ */
+public class GlobalEmissionsDatasetLoader {
+    private static final String[] EXPECTED_HEADERS = {"Entity", "Year", "Annual CO₂ emissions (per capita)"};
+
+    // Each chunk is mapped on its own, so it has to stay well below the 2 GB limit of a single mapping
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    // Powers of ten that are exactly representable as doubles, used by the fast number path
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final ArrayList<GlobalEmissionPerCapitaRecord> records = new ArrayList<>();
+    private final ArrayList<String> errors = new ArrayList<>();
+
+    /**
+     * Loads the dataset at the given path.
+     *
+     * @param datasetPath the path to the CSV dataset
+     * @throws IllegalArgumentException if the header of the file does not match the expected dataset
+     * @throws UncheckedIOException     if the file cannot be read
+     */
+    public GlobalEmissionsDatasetLoader(Path datasetPath) {
+        try (FileChannel channel = FileChannel.open(datasetPath, StandardOpenOption.READ)) {
+            load(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the records parsed from the dataset, in file order.
+     *
+     * @return the parsed records
+     */
+    public ArrayList<GlobalEmissionPerCapitaRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets a message for every row that could not be parsed, in file order.
+     *
+     * @return the error messages, each starting with the line number of the row
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    private void load(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long dataStart = readAndCheckHeader(channel, size);
+
+        // Split the file into chunks that each end right after a line feed
+        ArrayList<Long> boundaries = new ArrayList<>();
+        boundaries.add(dataStart);
+        long position = dataStart;
+        while (position < size) {
+            position = size - position > CHUNK_SIZE ? findLineEnd(channel, position + CHUNK_SIZE, size) : size;
+            boundaries.add(position);
+        }
+
+        ChunkTask[] tasks = new ChunkTask[boundaries.size() - 1];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = new ChunkTask(channel, boundaries.get(i), boundaries.get(i + 1));
+        }
+
+        if (tasks.length == 1) {
+            tasks[0].invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+
+        // Merge the chunks in order, turning chunk-relative line numbers into file line numbers
+        int lineOffset = 1; // The header is line 1
+        for (ChunkTask task : tasks) {
+            if (task.failure != null) {
+                throw new UncheckedIOException("Error reading CSV file: " + task.failure.getMessage(), task.failure);
+            }
+
+            records.addAll(task.records);
+            for (int i = 0; i < task.errorLines.size(); i++) {
+                errors.add("Line " + (lineOffset + task.errorLines.get(i)) + ": " + task.errorMessages.get(i));
+            }
+            lineOffset += task.lineCount;
+        }
+    }
+
+    /**
+     * Reads the first line of the file and checks it against the expected headers.
+     *
+     * @return the position right after the header line
+     */
+    private static long readAndCheckHeader(FileChannel channel, long size) throws IOException {
+        long headerEnd = findLineEnd(channel, 0, size);
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(headerEnd, 64 * 1024));
+        channel.read(buffer, 0);
+
+        String header = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        ArrayList<String[]> rows = CSVParser.parseCSVString(header);
+        String[] headers = rows.isEmpty() ? new String[0] : rows.get(0);
+
+        boolean valid = headers.length >= EXPECTED_HEADERS.length;
+        for (int i = 0; valid && i < EXPECTED_HEADERS.length; i++) {
+            valid = headers[i].equals(EXPECTED_HEADERS[i]);
+        }
+
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid CSV format for global emissions dataset. Please make sure " +
+                    "the dataset is downloaded from https://ourworldindata.org/co2-and-greenhouse-gas-emissions#explore-data-on-co2-and-greenhouse-gas-emissions " +
+                    "without any modifications.");
+        }
+
+        return headerEnd;
+    }
+
+    /**
+     * Finds the position right after the first line feed at or after the given position.
+     *
+     * @return the position after the line feed, or the file size if there is none
+     */
+    private static long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return size;
+    }
+
+    /**
+     * Parses the lines of one chunk of the file.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        private final ArrayList<GlobalEmissionPerCapitaRecord> records = new ArrayList<>();
+        private final ArrayList<Integer> errorLines = new ArrayList<>();
+        private final ArrayList<String> errorMessages = new ArrayList<>();
+        private int lineCount = 0;
+        private IOException failure;
+
+        private MappedByteBuffer buffer;
+
+        // Rows of the same entity are grouped together, so the previous entity name is reused when the bytes match
+        private byte[] lastEntityBytes = new byte[0];
+        private String lastEntity;
+
+        // Scratch space for unescaping quoted entity names
+        private byte[] scratch = new byte[64];
+
+        private ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end <= start) return;
+
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                failure = e;
+                return;
+            }
+
+            int limit = buffer.limit();
+            int lineStart = 0;
+
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') lineEnd++;
+
+                lineCount++;
+                int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                if (contentEnd > lineStart) {
+                    parseLine(lineStart, contentEnd);
+                }
+
+                lineStart = lineEnd + 1;
+            }
+        }
+
+        private void parseLine(int from, int to) {
+            try {
+                // Entity
+                int position;
+                String entity;
+                if (buffer.get(from) == '"') {
+                    position = readQuotedEntity(from, to);
+                    entity = lastEntity;
+                } else {
+                    position = indexOfComma(from, to);
+                    entity = entityFromBytes(from, position);
+                }
+
+                if (position >= to) return; // Skip invalid rows
+                if (buffer.get(position) != ',') {
+                    throw new IllegalArgumentException("Unexpected character after closing quote");
+                }
+
+                // Year
+                int yearStart = position + 1;
+                int yearEnd = indexOfComma(yearStart, to);
+                if (yearEnd >= to) return; // Skip invalid rows
+                int year = parseInt(yearStart, yearEnd);
+
+                // Annual emissions per capita, further columns are ignored
+                int amountStart = yearEnd + 1;
+                double amount = parseDouble(amountStart, indexOfComma(amountStart, to));
+
+                records.add(new GlobalEmissionPerCapitaRecord(entity, year, amount));
+            } catch (IllegalArgumentException e) {
+                errorLines.add(lineCount);
+                errorMessages.add(e.getMessage());
+            }
+        }
+
+        private int indexOfComma(int from, int to) {
+            while (from < to && buffer.get(from) != ',') from++;
+            return from;
+        }
+
+        private String entityFromBytes(int from, int to) {
+            int length = to - from;
+            if (length > scratch.length) scratch = new byte[Math.max(length, scratch.length * 2)];
+
+            for (int i = 0; i < length; i++) {
+                scratch[i] = buffer.get(from + i);
+            }
+
+            return entityFromScratch(length);
+        }
+
+        /**
+         * Reads a quoted entity name into {@link #lastEntity}, unescaping doubled quotes.
+         *
+         * @return the position right after the closing quote
+         */
+        private int readQuotedEntity(int from, int to) {
+            int length = 0;
+            int position = from + 1;
+
+            while (true) {
+                if (position >= to) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+
+                byte b = buffer.get(position++);
+                if (b == '"') {
+                    if (position < to && buffer.get(position) == '"') {
+                        position++;
+                    } else {
+                        break;
+                    }
+                }
+
+                if (length == scratch.length) scratch = Arrays.copyOf(scratch, length * 2);
+                scratch[length++] = b;
+            }
+
+            lastEntity = entityFromScratch(length);
+            return position;
+        }
+
+        private String entityFromScratch(int length) {
+            boolean same = lastEntity != null && length == lastEntityBytes.length;
+            for (int i = 0; same && i < length; i++) {
+                same = scratch[i] == lastEntityBytes[i];
+            }
+
+            if (!same) {
+                lastEntityBytes = Arrays.copyOf(scratch, length);
+                lastEntity = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            return lastEntity;
+        }
+
+        private int parseInt(int from, int to) {
+            boolean negative = from < to && buffer.get(from) == '-';
+            int position = negative ? from + 1 : from;
+            if (position == to || to - position > 9) {
+                throw invalidNumber(from, to);
+            }
+
+            int value = 0;
+            for (; position < to; position++) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) throw invalidNumber(from, to);
+                value = value * 10 + digit;
+            }
+
+            return negative ? -value : value;
+        }
+
+        /**
+         * Parses a decimal number from the mapped bytes.
+         * Numbers with at most 15 significant digits and a small exponent are computed exactly with a single
+         * multiplication or division, anything else falls back to {@link Double#parseDouble(String)}.
+         */
+        private double parseDouble(int from, int to) {
+            int position = from;
+            boolean negative = false;
+            if (position < to && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                negative = buffer.get(position) == '-';
+                position++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int scale = 0;
+            boolean seenDigit = false;
+            boolean seenPoint = false;
+
+            for (; position < to; position++) {
+                byte b = buffer.get(position);
+                if (b >= '0' && b <= '9') {
+                    seenDigit = true;
+                    if (mantissa == 0 && b == '0') {
+                        if (seenPoint) scale--;
+                        continue; // Leading zeros are not significant
+                    }
+                    if (digits == 15) return slowParseDouble(from, to);
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (seenPoint) scale--;
+                } else if (b == '.' && !seenPoint) {
+                    seenPoint = true;
+                } else {
+                    // Exponents, NaN and other rare forms
+                    return slowParseDouble(from, to);
+                }
+            }
+
+            if (!seenDigit) throw invalidNumber(from, to);
+
+            double value;
+            if (mantissa == 0) {
+                value = 0;
+            } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+                value = mantissa / POWERS_OF_TEN[-scale];
+            } else if (scale == 0) {
+                value = mantissa;
+            } else {
+                return slowParseDouble(from, to);
+            }
+
+            return negative ? -value : value;
+        }
+
+        private double slowParseDouble(int from, int to) {
+            try {
+                return Double.parseDouble(bytesToString(from, to));
+            } catch (NumberFormatException e) {
+                throw invalidNumber(from, to);
+            }
+        }
+
+        private IllegalArgumentException invalidNumber(int from, int to) {
+            return new IllegalArgumentException("Invalid number \"" + bytesToString(from, to) + "\"");
+        }
+
+        private String bytesToString(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
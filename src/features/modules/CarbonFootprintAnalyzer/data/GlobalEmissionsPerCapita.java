@@ -1,57 +1,42 @@
 package features.modules.CarbonFootprintAnalyzer.data;
 
-import core.io.CSVParser;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.instances.GlobalEmissionPerCapitaRecord;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 public class GlobalEmissionsPerCapita {
     private final ArrayList<GlobalEmissionPerCapitaRecord> records;
+    private final List<String> errors;
 
     /**
      * Constructs a GlobalEmissionsPerCapita object by parsing the CSV dataset file.
      * The dataset should contain global CO₂ emissions per capita data.
+     * Rows that cannot be parsed are skipped and reported as a warning instead of stopping the application.
      *
      * @param datasetPath The path to the CSV file containing the emissions data.
-     * @throws IllegalArgumentException If the CSV format is invalid or if there are parsing errors.
+     * @throws IllegalArgumentException If the CSV header does not match the expected dataset.
      */
     public GlobalEmissionsPerCapita(String datasetPath) {
-        ArrayList<String[]> csvData = CSVParser.parseCSVFile(datasetPath);
-        records = new ArrayList<>();
+        GlobalEmissionsDatasetLoader loader = new GlobalEmissionsDatasetLoader(Paths.get(datasetPath));
+        records = loader.getRecords();
+        errors = loader.getErrors();
 
-        String[] headers = csvData.get(0);
-        if (headers.length < 3 ||
-                !headers[0].equals("Entity") ||
-                !headers[1].equals("Year") ||
-                !headers[2].equals("Annual CO₂ emissions (per capita)")) {
-            throw new IllegalArgumentException("Invalid CSV format for global emissions dataset. Please make sure " +
-                    "the dataset is downloaded from https://ourworldindata.org/co2-and-greenhouse-gas-emissions#explore-data-on-co2-and-greenhouse-gas-emissions " +
-                    "without any modifications.");
+        if (!errors.isEmpty()) {
+            OutputUtils.printWarning("Skipped " + errors.size() + " invalid row(s) of the CO2e dataset. First error: " + errors.get(0));
         }
+    }
 
-        for (int i = 1; i < csvData.size(); i++) {
-            try {
-                String[] row = csvData.get(i);
-                if (row.length < 3) continue; // Skip invalid rows
-
-                String activity = row[0];
-                int year;
-                double amount;
-
-                year = Integer.parseInt(row[1]);
-                amount = Double.parseDouble(row[2]);
-
-                GlobalEmissionPerCapitaRecord record = new GlobalEmissionPerCapitaRecord(
-                        activity, year, amount
-                );
-
-                records.add(record);
-            } catch (Exception e) {
-                OutputUtils.printError("Error parsing row " + i + " of the CO2e dataset: " + e.getMessage(), false);
-                System.exit(1);
-            }
-        }
+    /**
+     * Returns the errors of the rows that could not be parsed when loading the dataset.
+     *
+     * @return A list of error messages, each starting with the line number of the row.
+     */
+    public List<String> getErrors() {
+        return errors;
     }
 
     /**
@@ -69,12 +54,9 @@ public class GlobalEmissionsPerCapita {
      * @return An array of strings representing unique entities.
      */
     public String[] getEntities() {
-        ArrayList<String> entities = new ArrayList<>();
+        LinkedHashSet<String> entities = new LinkedHashSet<>();
         for (GlobalEmissionPerCapitaRecord record : records) {
-            String entity = record.getEntity();
-            if (!entities.contains(entity)) {
-                entities.add(entity);
-            }
+            entities.add(record.getEntity());
         }
 
         return entities.toArray(new String[0]);
@@ -13,13 +13,12 @@ public class FootprintLogHandler extends CommandInstance.Handler {
     @Override
     public void run() {
         String activity = argsMap.get("activity");
-        String amountStr = argsMap.get("amount");
 
         // No need to catch exception, as the ArgumentDataType will ensure it's a valid enum
         FootprintFactor factor = FootprintFactors.getFactorByAbbreviation(activity);
 
-        // No need to catch exception, as the ArgumentDataType will ensure it's a valid float
-        float amount = Float.parseFloat(amountStr);
+        // Already parsed when the ArgumentDataType validated it
+        float amount = (float) args.getDouble("amount", 0);
 
         if (amount <= 0) {
             OutputUtils.printError("The amount must be a positive non-zero number.");
@@ -29,7 +28,7 @@ public class FootprintLogHandler extends CommandInstance.Handler {
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
 
         FootprintRecord record = new FootprintRecord(
-                footprintManager.getRecords().toArray().length,
+                footprintManager.getNextRecordIndex(),
                 factor,
                 amount,
                 new Timestamp(System.currentTimeMillis())
@@ -5,8 +5,8 @@ import core.manager.GlobalManager;
 import core.terminal.Chalk;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 import features.modules.CarbonFootprintAnalyzer.data.GlobalEmissionsPerCapita;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
 import features.modules.CarbonFootprintAnalyzer.instances.GlobalEmissionPerCapitaRecord;
 
 import java.util.Arrays;
@@ -20,7 +20,7 @@ public class FootprintCountryCompareHandler extends CommandInstance.Handler {
         String country = validateAndGetCountry();
         if (country == null) return;
 
-        FootprintRecord[] userRecords = getUserRecords();
+        FootprintRecordStore.View userRecords = getUserRecords();
         if (userRecords == null) return;
 
         double userAnnualFootprint = getUserAnnualFootprint(userRecords);
@@ -72,15 +72,11 @@ public class FootprintCountryCompareHandler extends CommandInstance.Handler {
      * @param userRecords The user's carbon footprint records for the last year.
      * @return The estimated annual carbon footprint in tonnes CO2e.
      */
-    private static double getUserAnnualFootprint(FootprintRecord[] userRecords) {
-        double userAnnualFootprint = Arrays.stream(userRecords)
-                .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                .sum() / 1000.0; // Convert kg to tonnes
+    private static double getUserAnnualFootprint(FootprintRecordStore.View userRecords) {
+        double userAnnualFootprint = userRecords.getTotalEstimatedFootprint() / 1000.0; // Convert kg to tonnes
 
-        long oldestTimestamp = Arrays.stream(userRecords)
-                .mapToLong(record -> record.getTimestamp().getTimestamp())
-                .min()
-                .orElse(System.currentTimeMillis());
+        // Records are sorted by timestamp, so the oldest one is always the first
+        long oldestTimestamp = userRecords.isEmpty() ? System.currentTimeMillis() : userRecords.getTimestamp(0);
 
         // Calculate the number of days covered by the user's records
         long daysCovered = (System.currentTimeMillis() - oldestTimestamp) / (24 * 60 * 60 * 1000L);
@@ -117,9 +113,9 @@ public class FootprintCountryCompareHandler extends CommandInstance.Handler {
     /**
      * Retrieves the user's carbon footprint records for the last year.
      *
-     * @return An array of FootprintRecord objects for the last year, or null if no records are found.
+     * @return A view over the FootprintRecord objects for the last year, or null if no records are found.
      */
-    private FootprintRecord[] getUserRecords() {
+    private FootprintRecordStore.View getUserRecords() {
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
 
         if (footprintManager.getRecords().isEmpty()) {
@@ -128,9 +124,9 @@ public class FootprintCountryCompareHandler extends CommandInstance.Handler {
             return null;
         }
 
-        FootprintRecord[] userRecords = footprintManager.getRecordsForLastXDays(365);
+        FootprintRecordStore.View userRecords = footprintManager.getRecordsForLastXDays(365);
 
-        if (userRecords.length == 0) {
+        if (userRecords.isEmpty()) {
             OutputUtils.printError("No records found for the last year. Please log some activities first.", false);
             return null;
         }
@@ -3,11 +3,10 @@ package features.modules.CarbonFootprintAnalyzer.handlers.country;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.auth.data.UserManager;
 
-import java.util.Scanner;
-
 public class FootprintCountrySetHandler extends CommandInstance.Handler {
     @Override
     public void run() {
@@ -21,12 +20,12 @@ public class FootprintCountrySetHandler extends CommandInstance.Handler {
             return;
         }
 
-        Scanner sc = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         System.out.println("Your current carbon footprint country is " + new Chalk(
                 userManager.getFootprintCountry()
         ).blue().bold() + ".");
         System.out.print("Do you want to change your carbon footprint country? (yes/no): ");
-        String confirmation = sc.nextLine().trim().toLowerCase();
+        String confirmation = input.nextLine().trim().toLowerCase();
 
         if ("yes".equals(confirmation)) {
             userManager.setFootprintCountry(country);
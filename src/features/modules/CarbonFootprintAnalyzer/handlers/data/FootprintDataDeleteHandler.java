@@ -3,17 +3,15 @@ package features.modules.CarbonFootprintAnalyzer.handlers.data;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
 import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
 
-import java.util.Scanner;
-
 public class FootprintDataDeleteHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String indexStr = argsMap.get("index");
-        int index = Integer.parseInt(indexStr);
+        int index = args.getInt("index", -1);
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
         FootprintRecord record = footprintManager.getRecordByIndex(index);
 
@@ -29,9 +27,9 @@ public class FootprintDataDeleteHandler extends CommandInstance.Handler {
         OutputUtils.printDataRow("Amount", String.format("%.2f %s", record.getAmount(), record.getFactor().getPerUnit()));
         OutputUtils.printDataRow("Time", record.getTimestamp().toString());
 
-        Scanner sc = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         System.out.print(new Chalk("\nAre you sure you want to delete this carbon footprint record? This action cannot be undone (yes/no): ").red());
-        String confirmation = sc.nextLine().trim().toLowerCase();
+        String confirmation = input.nextLine().trim().toLowerCase();
 
         if ("yes".equals(confirmation)) {
             footprintManager.removeRecord(record);
@@ -11,16 +11,10 @@ import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
 public class FootprintDataEditHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String indexStr = argsMap.get("index");
-        int index = Integer.parseInt(indexStr);
+        int index = args.getInt("index", -1);
 
         String activity = argsMap.get("activity");
-        String amountStr = argsMap.get("amount");
-        double amount = 0.0;
-
-        if (amountStr != null && !amountStr.isEmpty()) {
-            amount = Double.parseDouble(amountStr);
-        }
+        double amount = args.getDouble("amount", 0.0);
 
         if ((activity == null || activity.isEmpty()) && amount <= 0) {
             OutputUtils.printError("You must provide either an activity or a positive non-zero amount to edit the record.");
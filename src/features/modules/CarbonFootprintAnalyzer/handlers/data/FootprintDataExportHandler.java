@@ -1,13 +1,22 @@
 package features.modules.CarbonFootprintAnalyzer.handlers.data;
 
 import core.cli.commands.CommandInstance;
+import core.io.ExportOptions;
 import core.manager.GlobalManager;
+import core.terminal.OutputUtils;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintFactors;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
+import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
 
 public class FootprintDataExportHandler extends CommandInstance.Handler {
     @Override
     public void run() {
+        ExportOptions options = ExportOptions.fromArgs(argsMap, "footprint_records_export.csv");
+        String activity = argsMap.get("activity");
+        FootprintFactor factor = activity != null ? FootprintFactors.getFactorByAbbreviation(activity) : null;
+
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
-        footprintManager.exportRecords();
+        int exported = footprintManager.exportRecords(options, factor);
+        OutputUtils.printInfo(exported + " record(s) exported.");
     }
 }
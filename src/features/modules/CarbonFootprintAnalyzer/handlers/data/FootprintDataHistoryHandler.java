@@ -3,16 +3,15 @@ package features.modules.CarbonFootprintAnalyzer.handlers.data;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.OutputUtils;
+import core.terminal.RenderBuffer;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
 
-import java.util.Arrays;
-
 public class FootprintDataHistoryHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String lastXDaysString = argsMap.get("last");
-        int lastXDays = lastXDaysString != null ? Integer.parseInt(lastXDaysString) : 7;
+        int lastXDays = args.getInt("last", 7);
 
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
         if (footprintManager.getRecords().isEmpty()) {
@@ -21,8 +20,8 @@ public class FootprintDataHistoryHandler extends CommandInstance.Handler {
             return;
         }
 
-        FootprintRecord[] filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
-        if (filteredRecords.length == 0) {
+        FootprintRecordStore.View filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
+        if (filteredRecords.isEmpty()) {
             OutputUtils.printError("No records found for the specified period.", false);
             return;
         }
@@ -34,27 +33,32 @@ public class FootprintDataHistoryHandler extends CommandInstance.Handler {
         String divider   = "╠═══════╬═══════════════════════════╬════════════╬════════╬══════════════════════╣";
         String footer    = "╚═══════╩═══════════════════════════╩════════════╩════════╩══════════════════════╝";
 
-        System.out.println(separator);
-        System.out.println(header);
-        System.out.println(divider);
+        RenderBuffer buffer = RenderBuffer.getInstance();
+        buffer.append(separator).newline()
+                .append(header).newline()
+                .append(divider).newline();
 
+        // Rows are formatted straight into the buffer, a history can hold tens of thousands of records
+        StringBuilder time = new StringBuilder(19);
         for (FootprintRecord record : filteredRecords) {
-            System.out.printf(
-                    "║ %-5s ║ %-25s ║ %-10.2f ║ %-6s ║ %-20s ║%n",
-                    record.getIndex(),
-                    record.getFactor().getName(),
-                    record.getAmount(),
-                    record.getFactor().getPerUnit(),
-                    record.getTimestamp()
-            );
+            time.setLength(0);
+            record.getTimestamp().appendTo(time);
+
+            buffer.append("║ ").padRight(record.getIndex(), 5)
+                    .append(" ║ ").padRight(record.getFactor().getName(), 25)
+                    .append(" ║ ").padRight(record.getAmount(), 2, 10)
+                    .append(" ║ ").padRight(record.getFactor().getPerUnit(), 6)
+                    .append(" ║ ").append(time).repeat(' ', 20 - time.length())
+                    .append(" ║").newline();
         }
 
-        System.out.println(footer);
+        buffer.append(footer).newline();
+        buffer.flush();
 
-        double totalFootprint = Arrays.stream(filteredRecords).mapToDouble(FootprintRecord::getEstimatedFootprint).sum();
+        double totalFootprint = filteredRecords.getTotalEstimatedFootprint();
         
         String[][] summaryStats = {
-            {"Total records found", String.valueOf(filteredRecords.length), "blue"},
+            {"Total records found", String.valueOf(filteredRecords.size()), "blue"},
             {"Total carbon footprint", String.format("%.2f kg CO2e", totalFootprint), "red"}
         };
         
@@ -0,0 +1,29 @@
+package features.modules.CarbonFootprintAnalyzer.handlers.data;
+
+import core.cli.commands.CommandInstance;
+import core.manager.GlobalManager;
+import core.terminal.OutputUtils;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintImporter;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
+
+public class FootprintDataImportHandler extends CommandInstance.Handler {
+    @Override
+    public void run() {
+        String filePath = argsMap.get("file");
+
+        FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
+        FootprintImporter importer = footprintManager.importRecords(filePath);
+
+        String[][] summaryStats = {
+                {"Records imported", String.valueOf(importer.getCount()), "green"},
+                {"Duplicates skipped", String.valueOf(importer.getDuplicateCount()), "yellow"},
+                {"Invalid rows", String.valueOf(importer.getRejectedRows().size()), "red"}
+        };
+
+        OutputUtils.printSummaryBox("Import Summary", summaryStats);
+
+        if (!importer.getRejectedRows().isEmpty()) {
+            OutputUtils.printTip("Invalid rows and the reason they were rejected are listed in the import report.");
+        }
+    }
+}
@@ -3,17 +3,15 @@ package features.modules.CarbonFootprintAnalyzer.handlers.goal;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.auth.data.UserManager;
 
-import java.util.Scanner;
-
 public class FootprintGoalSetHandler extends CommandInstance.Handler {
     @Override
     public void run() {
         UserManager userManager = GlobalManager.getInstance().getUserManager();
-        String goalString = argsMap.get("goal");
-        double goal = Double.parseDouble(goalString);
+        double goal = args.getDouble("goal", 0);
 
         if (userManager.getFootprintGoal() == 0.0) {
             userManager.setFootprintGoal(goal);
@@ -22,12 +20,12 @@ public class FootprintGoalSetHandler extends CommandInstance.Handler {
             return;
         }
 
-        Scanner sc = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         System.out.println("Your current carbon footprint goal is " + new Chalk(
                 String.format("%6f kg CO2e", userManager.getFootprintGoal())
         ).blue().bold() + ".");
         System.out.print("Do you want to change your carbon footprint goal? (yes/no): ");
-        String confirmation = sc.nextLine().trim().toLowerCase();
+        String confirmation = input.nextLine().trim().toLowerCase();
 
         if ("yes".equals(confirmation)) {
             userManager.setFootprintGoal(goal);
@@ -1,15 +1,12 @@
 package features.modules.CarbonFootprintAnalyzer.handlers.goal;
 
 import core.cli.commands.CommandInstance;
-import core.instances.Timestamp;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
 import core.terminal.OutputUtils;
 import features.auth.data.UserManager;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
-
-import java.util.Arrays;
+import features.modules.CarbonFootprintAnalyzer.instances.GoalStreak;
 
 public class FootprintGoalStreakHandler extends CommandInstance.Handler {
     @Override
@@ -24,38 +21,9 @@ public class FootprintGoalStreakHandler extends CommandInstance.Handler {
             return;
         }
 
-        Timestamp t = new Timestamp();
-        t.setHour(0);
-        t.setMinute(0);
-        t.setSecond(0);
-        t.setMillisecond(100);
-
-        int streak = 0;
-        int longestStreak = 0;
-
-        long timestampOfFirstRecord = footprintManager.getRecords().get(0).getTimestamp().getTimestamp();
-        Timestamp firstRecordDate = new Timestamp(timestampOfFirstRecord);
-        firstRecordDate.setHour(0);
-        firstRecordDate.setMinute(0);
-        firstRecordDate.setSecond(0);
-        firstRecordDate.setMillisecond(0);
-
-        while (t.getTimestamp() > firstRecordDate.getTimestamp()) {
-            FootprintRecord[] records = footprintManager.getRecordsByDate(t);
-            double totalAmount = Arrays.stream(records).mapToDouble(FootprintRecord::getEstimatedFootprint).sum();
-
-            if (totalAmount <= goal) {
-                streak++;
-
-                if (streak > longestStreak) {
-                    longestStreak = streak;
-                }
-            } else {
-                streak = 0;
-            }
-
-            t.subtract("day", 1);
-        }
+        GoalStreak goalStreak = footprintManager.getGoalStreak(goal);
+        int streak = goalStreak.getCurrentStreak();
+        int longestStreak = goalStreak.getLongestStreak();
 
         System.out.println();
         System.out.println("You have stayed within your carbon footprint goal of " + new Chalk(
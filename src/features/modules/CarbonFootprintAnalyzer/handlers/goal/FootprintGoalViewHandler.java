@@ -5,9 +5,7 @@ import core.manager.GlobalManager;
 import core.terminal.OutputUtils;
 import features.auth.data.UserManager;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
-
-import java.util.Arrays;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 
 public class FootprintGoalViewHandler extends CommandInstance.Handler {
     @Override
@@ -22,16 +20,13 @@ public class FootprintGoalViewHandler extends CommandInstance.Handler {
             return;
         }
 
-        FootprintRecord[] last7DaysRecords = footprintManager.getRecordsForLastXDays(7);
-        double averageFootprint = Arrays.stream(last7DaysRecords)
-                .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                .average()
-                .orElse(0.0);
+        FootprintRecordStore.View last7DaysRecords = footprintManager.getRecordsForLastXDays(7);
+        double averageFootprint = last7DaysRecords.getEstimatedFootprintStatistics().getAverage();
 
         OutputUtils.printSectionHeader("Your Carbon Footprint Goal");
         OutputUtils.printStatistic("Goal", String.format("%.6f kg CO2e", goal), "blue");
 
-        if (last7DaysRecords.length == 0) {
+        if (last7DaysRecords.isEmpty()) {
             OutputUtils.printError("No carbon footprint records found for the last 7 days.", false);
             OutputUtils.printTip("Log your first activity using the 'footprint log' command.");
         } else {
@@ -6,16 +6,13 @@ import core.manager.GlobalManager;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintFactors;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 import features.modules.CarbonFootprintAnalyzer.instances.FootprintFactor;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
-
-import java.util.Arrays;
 
 public class FootprintStatsBreakdownHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String lastXDaysString = argsMap.get("last");
-        int lastXDays = lastXDaysString != null ? Integer.parseInt(lastXDaysString) : 7;
+        int lastXDays = args.getInt("last", 7);
 
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
 
@@ -25,27 +22,22 @@ public class FootprintStatsBreakdownHandler extends CommandInstance.Handler {
             return;
         }
 
-        FootprintRecord[] filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
+        FootprintRecordStore.View filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
 
-        if (filteredRecords.length == 0) {
+        if (filteredRecords.isEmpty()) {
             OutputUtils.printError("No records found for the specified period.", false);
             return;
         }
 
-        double totalAmount = Arrays.stream(filteredRecords)
-                .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                .sum();
+        double totalAmount = filteredRecords.getTotalEstimatedFootprint();
 
         OutputUtils.printSectionHeader("Emission Breakdown by Activity Type for the Last " + lastXDays + " Days");
 
         ListOfKVs<FootprintFactor, Double> activityBreakdown = new ListOfKVs<>();
 
         for (FootprintFactor factor : FootprintFactors.FACTORS) {
-            FootprintRecord[] recordsForFactor = footprintManager.getRecordsForFactor(factor, lastXDays);
-
-            double totalAmountForFactor = Arrays.stream(recordsForFactor)
-                    .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                    .sum();
+            double totalAmountForFactor = footprintManager.getRecordsForFactor(factor, lastXDays)
+                    .getTotalEstimatedFootprint();
 
             activityBreakdown.put(factor, totalAmountForFactor);
         }
@@ -4,7 +4,7 @@ import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 
 import java.util.Arrays;
 
@@ -22,12 +22,10 @@ public class FootprintStatsChartHandler extends CommandInstance.Handler {
             return;
         }
 
-        FootprintRecord[][] groupedRecords = footprintManager.getRecordsGroupedByWeekDay();
-        double[] totalOfEachDay = Arrays.stream(groupedRecords).mapToDouble(
-                records -> Arrays.stream(records)
-                        .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                        .sum()
-        ).toArray();
+        FootprintRecordStore.View[] groupedRecords = footprintManager.getRecordsGroupedByWeekDay();
+        double[] totalOfEachDay = Arrays.stream(groupedRecords)
+                .mapToDouble(FootprintRecordStore.View::getTotalEstimatedFootprint)
+                .toArray();
         double maxAmount = Arrays.stream(totalOfEachDay).max().orElse(0.0);
 
         if (maxAmount == 0) {
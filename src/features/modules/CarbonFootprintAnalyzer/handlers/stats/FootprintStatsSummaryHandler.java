@@ -4,16 +4,14 @@ import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.OutputUtils;
 import features.modules.CarbonFootprintAnalyzer.data.FootprintManager;
-import features.modules.CarbonFootprintAnalyzer.instances.FootprintRecord;
+import features.modules.CarbonFootprintAnalyzer.data.FootprintRecordStore;
 
-import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
 
 public class FootprintStatsSummaryHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String lastXDaysString = argsMap.get("last");
-        int lastXDays = lastXDaysString != null ? Integer.parseInt(lastXDaysString) : 7;
+        int lastXDays = args.getInt("last", 7);
 
         FootprintManager footprintManager = GlobalManager.getInstance().getFootprintManager();
         if (footprintManager.getRecords().isEmpty()) {
@@ -22,18 +20,14 @@ public class FootprintStatsSummaryHandler extends CommandInstance.Handler {
             return;
         }
 
-        FootprintRecord[] filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
+        FootprintRecordStore.View filteredRecords = footprintManager.getRecordsForLastXDays(lastXDays);
 
-        if (filteredRecords.length == 0) {
+        if (filteredRecords.isEmpty()) {
             OutputUtils.printError("No records found for the specified period.", false);
             return;
         }
 
-        double[] amounts = Arrays.stream(filteredRecords)
-                .mapToDouble(FootprintRecord::getEstimatedFootprint)
-                .toArray();
-
-        DoubleSummaryStatistics statistics = Arrays.stream(amounts).summaryStatistics();
+        DoubleSummaryStatistics statistics = filteredRecords.getEstimatedFootprintStatistics();
 
         String[][] summaryStats = getSummaryStats(statistics, lastXDays);
 
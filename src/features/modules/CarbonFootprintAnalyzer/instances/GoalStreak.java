@@ -0,0 +1,51 @@
+package features.modules.CarbonFootprintAnalyzer.instances;
+
+/**
+ * Represents the result of a goal streak computation.
+ * A streak is a run of consecutive days whose total estimated footprint stayed within a goal.
+ */
+public class GoalStreak {
+    private final double goal;
+    private final int currentStreak;
+    private final int longestStreak;
+
+    /**
+     * Constructs a new GoalStreak with the specified values.
+     *
+     * @param goal          the daily goal in kg CO2e the streaks were computed for
+     * @param currentStreak the number of consecutive days within the goal, ending today
+     * @param longestStreak the longest number of consecutive days within the goal
+     */
+    public GoalStreak(double goal, int currentStreak, int longestStreak) {
+        this.goal = goal;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    /**
+     * Returns the daily goal the streaks were computed for.
+     *
+     * @return the goal in kg CO2e
+     */
+    public double getGoal() {
+        return goal;
+    }
+
+    /**
+     * Returns the number of consecutive days within the goal, ending today.
+     *
+     * @return the current streak in days
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    /**
+     * Returns the longest number of consecutive days within the goal.
+     *
+     * @return the longest streak in days
+     */
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+}
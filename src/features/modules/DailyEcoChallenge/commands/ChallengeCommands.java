@@ -13,7 +13,8 @@ public class ChallengeCommands extends CommandInstance {
                         new ChallengeSkipCommand(),
                         new ChallengeRefreshCommand(),
                         new ChallengeStreakCommand(),
-                        new ChallengeHistoryCommand()
+                        new ChallengeHistoryCommand(),
+                        new ChallengeExportCommand()
                 }
         );
 
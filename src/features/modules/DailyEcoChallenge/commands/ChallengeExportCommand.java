@@ -0,0 +1,25 @@
+package features.modules.DailyEcoChallenge.commands;
+
+import core.cli.arguments.ArgumentDataType;
+import core.cli.arguments.ArgumentList;
+import core.cli.arguments.KeywordArgument;
+import core.cli.commands.CommandInstance;
+import features.modules.DailyEcoChallenge.handlers.ChallengeExportHandler;
+
+public class ChallengeExportCommand extends CommandInstance {
+    public ChallengeExportCommand() {
+        super(
+                "export",
+                "Exports your challenge history to a CSV file.",
+                "-f my_challenges.csv --from 2025-01-01 --gzip",
+                new ArgumentList(
+                        new KeywordArgument("file", "f", "The name of the file to export your challenge history to.", ArgumentDataType.STRING, false),
+                        new KeywordArgument("directory", "d", "The directory where the file will be saved.", ArgumentDataType.STRING, false),
+                        new KeywordArgument("from", "s", "Only export records from this date on (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                        new KeywordArgument("to", "e", "Only export records up to this date (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                        new KeywordArgument("gzip", "z", "Compress the exported file with gzip.", ArgumentDataType.FLAG, false)
+                ),
+                new ChallengeExportHandler()
+        );
+    }
+}
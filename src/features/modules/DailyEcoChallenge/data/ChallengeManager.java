@@ -2,7 +2,10 @@ package features.modules.DailyEcoChallenge.data;
 
 import core.instances.Timestamp;
 import core.io.CSVParser;
+import core.io.CSVWriter;
+import core.io.ExportOptions;
 import core.io.IOManager;
+import core.io.RecordLog;
 import core.manager.GlobalManager;
 import features.auth.data.UserManager;
 import features.modules.DailyEcoChallenge.instances.Challenge;
@@ -10,56 +13,97 @@ import features.modules.DailyEcoChallenge.instances.ChallengeRecord;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 
 /**
  * Manages daily eco challenges and their completion records.
  * Handles storing and retrieving challenge completion data,
  * managing today's challenge assignment, and providing statistics
  * about challenge completion patterns.
+ * <p>
+ * Records are kept sorted by timestamp, and an epoch-day index maps every day with records to a summary
+ * of that day, so date lookups, today checks and streaks never scan the whole history.
+ * New records are appended to a {@link RecordLog} instead of rewriting the whole records file.
  */
 public class ChallengeManager {
     private ArrayList<ChallengeRecord> records;
+    private final RecordLog log = new RecordLog("challenge_records");
+
+    // Operation of the entries in the record log
+    private static final char ADD = 'A';
+
+    // Epoch-day index, rebuilt on load and kept up to date by recordChallenge
+    private final HashMap<Long, DaySummary> dayIndex = new HashMap<>();
+
+    // Summary of the current day, cached until the date changes
+    private long cachedToday = Long.MIN_VALUE;
+    private DaySummary cachedTodaySummary;
 
     /**
-     * Initializes the challenge manager by loading existing records from file.
+     * The records of a single day, which are contiguous because the records are sorted by timestamp.
      */
-    public void init() {
-        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+    private static final class DaySummary {
+        private int from;
+        private int to;
+        private boolean completed;
+        private boolean skipped;
+
+        private DaySummary(int from) {
+            this.from = from;
+            this.to = from;
+        }
 
-        if (!ioManager.existsFile("challenge_records")) {
-            records = new ArrayList<>();
-            ioManager.writeToFile("challenge_records", "");
-            return;
+        private void add(ChallengeRecord record) {
+            to++;
+            completed |= record.isCompleted();
+            skipped |= record.isSkipped();
         }
+    }
 
-        String csvString = ioManager.parseStringFromFile("challenge_records");
-        Object[] csvData = CSVParser.parseCSVString(csvString).stream().sorted(
-                Comparator.comparingLong(a -> Long.parseLong(a[2]))
-        ).toArray();
+    /**
+     * Initializes the challenge manager by loading the records snapshot from file and replaying the records
+     * logged since.
+     */
+    public void init() {
+        String csvString = log.readSnapshot();
         records = new ArrayList<>();
 
-        for (int i = 0; i < csvData.length; i++) {
-            String[] row = (String[]) csvData[i];
-            if (row.length < 4) continue; // Skip invalid rows
+        CSVParser.parseCSVString(csvString, row -> loadRecord(row.toArray()));
+        log.replay((operation, fields) -> {
+            if (operation == ADD) loadRecord(fields);
+        });
 
-            String challengeId = row[0];
-            String status = row[1];
-            Timestamp timestamp;
-            String notes = row[3];
+        records.sort(Comparator.comparingLong(record -> record.getTimestamp().getTimestamp()));
+        rebuildDayIndex();
 
-            try {
-                timestamp = new Timestamp(Long.parseLong(row[2]));
-            } catch (NumberFormatException e) {
-                continue; // Skip rows with invalid timestamp
-            }
+        if (log.shouldCompact()) writeRecordsToFile();
+    }
 
-            try {
-                Challenge challenge = Challenges.getChallengeById(challengeId);
-                ChallengeRecord record = new ChallengeRecord(i, challenge, status, timestamp, notes);
-                records.add(record);
-            } catch (IllegalArgumentException e) {
-                // Skip records with invalid challenge IDs
-            }
+    /**
+     * Adds a record read from the snapshot or the record log. Invalid records are skipped.
+     *
+     * @param fields the challenge ID, status, timestamp and notes of the record
+     */
+    private void loadRecord(String[] fields) {
+        if (fields.length < 4) return; // Skip invalid rows
+
+        String challengeId = fields[0];
+        String status = fields[1];
+        Timestamp timestamp;
+        String notes = fields[3];
+
+        try {
+            timestamp = new Timestamp(Long.parseLong(fields[2]));
+        } catch (NumberFormatException e) {
+            return; // Skip rows with invalid timestamp
+        }
+
+        try {
+            Challenge challenge = Challenges.getChallengeById(challengeId);
+            ChallengeRecord record = new ChallengeRecord(records.size(), challenge, status, timestamp, notes);
+            records.add(record);
+        } catch (IllegalArgumentException e) {
+            // Skip records with invalid challenge IDs
         }
     }
 
@@ -114,8 +158,23 @@ public class ChallengeManager {
         int newIndex = records.size();
         Timestamp timestamp = new Timestamp();
         ChallengeRecord record = new ChallengeRecord(newIndex, challenge, status, timestamp, notes);
-        records.add(record);
-        writeRecordsToFile();
+
+        if (records.isEmpty() || records.get(records.size() - 1).getTimestamp().getTimestamp() <= timestamp.getTimestamp()) {
+            // Appending keeps the records sorted, so only the summary of the record's day changes
+            records.add(record);
+
+            long day = timestamp.epochDay();
+            DaySummary summary = dayIndex.computeIfAbsent(day, d -> new DaySummary(records.size() - 1));
+            summary.add(record);
+            if (day == cachedToday) cachedTodaySummary = summary;
+        } else {
+            // The clock went backwards, insert in order and rebuild the index
+            records.add(upperBound(timestamp.getTimestamp()), record);
+            rebuildDayIndex();
+        }
+
+        log.append(ADD, record.toArray());
+        if (log.shouldCompact()) writeRecordsToFile();
     }
 
     /**
@@ -134,11 +193,10 @@ public class ChallengeManager {
      * @return Array of challenge records for the specified date
      */
     public ChallengeRecord[] getRecordsByDate(Timestamp date) {
-        return records.stream()
-                .filter(record -> record.getTimestamp().getYear() == date.getYear() &&
-                        record.getTimestamp().getMonth() == date.getMonth() &&
-                        record.getTimestamp().getDay() == date.getDay())
-                .toArray(ChallengeRecord[]::new);
+        DaySummary summary = dayIndex.get(date.epochDay());
+        if (summary == null) return new ChallengeRecord[0];
+
+        return records.subList(summary.from, summary.to).toArray(new ChallengeRecord[0]);
     }
 
     /**
@@ -149,9 +207,7 @@ public class ChallengeManager {
      */
     public ChallengeRecord[] getRecordsForLastXDays(int days) {
         long startTimestamp = System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L);
-        return records.stream()
-                .filter(record -> record.getTimestamp().getTimestamp() >= startTimestamp)
-                .toArray(ChallengeRecord[]::new);
+        return records.subList(lowerBound(startTimestamp), records.size()).toArray(new ChallengeRecord[0]);
     }
 
     /**
@@ -160,35 +216,16 @@ public class ChallengeManager {
      * @return Number of consecutive days with completed challenges
      */
     public int getCurrentStreak() {
-        if (records.isEmpty()) return 0;
-
-        int streak = 0;
-        Timestamp today = new Timestamp();
-        today.setHour(0);
-        today.setMinute(0);
-        today.setSecond(0);
-        today.setMillisecond(0);
-
-        // Check each day going backwards from today
-        for (int daysBack = 0; daysBack < records.size(); daysBack++) {
-            Timestamp dateToCheck = new Timestamp(today.getTimestamp());
-            dateToCheck.subtract("day", daysBack);
-
-            ChallengeRecord[] dayRecords = getRecordsByDate(dateToCheck);
-            
-            boolean hasCompletedChallenge = false;
-            for (ChallengeRecord record : dayRecords) {
-                if (record.isCompleted()) {
-                    hasCompletedChallenge = true;
-                    break;
-                }
-            }
-            
-            if (hasCompletedChallenge) {
-                streak++;
-            } else {
-                break;
-            }
+        DaySummary today = getTodaySummary();
+        if (today == null || !today.completed) return 0;
+
+        // Check each day going backwards from today, stopping at the first day without a completed challenge
+        int streak = 1;
+        for (long day = cachedToday - 1; ; day--) {
+            DaySummary summary = dayIndex.get(day);
+            if (summary == null || !summary.completed) break;
+
+            streak++;
         }
 
         return streak;
@@ -227,6 +264,7 @@ public class ChallengeManager {
      */
     public void clearRecords() {
         records.clear();
+        rebuildDayIndex();
     }
 
     /**
@@ -236,11 +274,12 @@ public class ChallengeManager {
      * @return true if the challenge is valid for today, false otherwise
      */
     private boolean isTodaysChallengeValid(String challengeId) {
-        Timestamp today = new Timestamp();
-        ChallengeRecord[] todayRecords = getRecordsByDate(today);
-        
+        DaySummary today = getTodaySummary();
+        if (today == null || !today.completed) return true;
+
         // Check if this challenge was already completed today
-        for (ChallengeRecord record : todayRecords) {
+        for (int i = today.from; i < today.to; i++) {
+            ChallengeRecord record = records.get(i);
             if (record.getChallenge().getId().equals(challengeId) && record.isCompleted()) {
                 return false; // Challenge was already completed today
             }
@@ -250,12 +289,94 @@ public class ChallengeManager {
     }
 
     /**
-     * Writes all records to the file.
+     * Gets the summary of today's records, looking it up only when the date has changed since the last call.
+     *
+     * @return the summary of today, or null if nothing was recorded today
      */
-    private void writeRecordsToFile() {
+    private DaySummary getTodaySummary() {
+        long today = new Timestamp().epochDay();
+        if (today != cachedToday) {
+            cachedToday = today;
+            cachedTodaySummary = dayIndex.get(today);
+        }
+
+        return cachedTodaySummary;
+    }
+
+    /**
+     * Rebuilds the epoch-day index from the sorted records.
+     */
+    private void rebuildDayIndex() {
+        dayIndex.clear();
+        cachedToday = Long.MIN_VALUE;
+        cachedTodaySummary = null;
+
+        DaySummary current = null;
+        long currentDay = 0;
+        for (int i = 0; i < records.size(); i++) {
+            ChallengeRecord record = records.get(i);
+            long day = record.getTimestamp().epochDay();
+
+            if (current == null || day != currentDay) {
+                current = new DaySummary(i);
+                currentDay = day;
+                dayIndex.put(day, current);
+            }
+            current.add(record);
+        }
+    }
+
+    /**
+     * Finds the first position whose timestamp is greater than or equal to the given timestamp.
+     */
+    private int lowerBound(long timestamp) {
+        int low = 0;
+        int high = records.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.get(mid).getTimestamp().getTimestamp() < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Finds the first position whose timestamp is strictly greater than the given timestamp.
+     */
+    private int upperBound(long timestamp) {
+        return lowerBound(timestamp + 1);
+    }
+
+    /**
+     * Exports the challenge records within the date range of the options to a CSV file.
+     * The records are streamed to the file one row at a time, so no copy of the records is built in memory.
+     *
+     * @param options the export options
+     * @return the number of exported records
+     */
+    public int exportRecords(ExportOptions options) {
+        int start = lowerBound(options.getFromTimestamp());
+        int end = lowerBound(options.getToTimestamp());
+
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
-        String csvString = toCSVString();
-        ioManager.writeToFile("challenge_records", csvString);
+        ioManager.exportToFile(options, writer -> {
+            for (int i = start; i < end; i++) {
+                writer.writeRow(records.get(i).toArray());
+            }
+        });
+
+        return end - start;
+    }
+
+    /**
+     * Writes all records to a new snapshot, replacing the record log.
+     */
+    private void writeRecordsToFile() {
+        log.compact(toCSVString());
     }
 
     /**
@@ -264,11 +385,14 @@ public class ChallengeManager {
      * @return CSV string representation of all records
      */
     private String toCSVString() {
-        ArrayList<String[]> csvData = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        CSVWriter writer = new CSVWriter(sb);
+
         for (ChallengeRecord record : records) {
-            csvData.add(record.toArray());
+            writer.writeRow(record.toArray());
         }
-        return CSVParser.toCSVString(csvData);
+
+        return sb.toString();
     }
 
     /**
@@ -277,15 +401,8 @@ public class ChallengeManager {
      * @return true if a challenge has been completed today, false otherwise
      */
     public boolean hasCompletedChallengeToday() {
-        Timestamp today = new Timestamp();
-        ChallengeRecord[] todayRecords = getRecordsByDate(today);
-        
-        for (ChallengeRecord record : todayRecords) {
-            if (record.isCompleted()) {
-                return true;
-            }
-        }
-        return false;
+        DaySummary today = getTodaySummary();
+        return today != null && today.completed;
     }
 
     /**
@@ -294,14 +411,7 @@ public class ChallengeManager {
      * @return true if a challenge has been skipped today, false otherwise
      */
     public boolean hasSkippedChallengeToday() {
-        Timestamp today = new Timestamp();
-        ChallengeRecord[] todayRecords = getRecordsByDate(today);
-        
-        for (ChallengeRecord record : todayRecords) {
-            if (record.isSkipped()) {
-                return true;
-            }
-        }
-        return false;
+        DaySummary today = getTodaySummary();
+        return today != null && today.skipped;
     }
 }
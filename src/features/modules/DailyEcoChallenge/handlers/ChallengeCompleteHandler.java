@@ -3,12 +3,11 @@ package features.modules.DailyEcoChallenge.handlers;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.DailyEcoChallenge.data.ChallengeManager;
 import features.modules.DailyEcoChallenge.instances.Challenge;
 
-import java.util.Scanner;
-
 public class ChallengeCompleteHandler extends CommandInstance.Handler {
     @Override
     public void run() {
@@ -30,10 +29,10 @@ public class ChallengeCompleteHandler extends CommandInstance.Handler {
         
         String notes;
 
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
 
         System.out.print("Did you complete this challenge? (yes/no): ");
-        String response = scanner.nextLine().trim().toLowerCase();
+        String response = input.nextLine().trim().toLowerCase();
         
         if (!response.equalsIgnoreCase("yes")) {
             OutputUtils.printWarning("No problem! Try again tomorrow or use 'challenge skip' if you need to.");
@@ -41,7 +40,7 @@ public class ChallengeCompleteHandler extends CommandInstance.Handler {
         }
 
         System.out.print("Any notes about your completion (optional): ");
-        notes = scanner.nextLine().trim();
+        notes = input.nextLine().trim();
 
         challengeManager.recordChallenge(todaysChallenge, "completed", notes);
 
@@ -0,0 +1,18 @@
+package features.modules.DailyEcoChallenge.handlers;
+
+import core.cli.commands.CommandInstance;
+import core.io.ExportOptions;
+import core.manager.GlobalManager;
+import core.terminal.OutputUtils;
+import features.modules.DailyEcoChallenge.data.ChallengeManager;
+
+public class ChallengeExportHandler extends CommandInstance.Handler {
+    @Override
+    public void run() {
+        ExportOptions options = ExportOptions.fromArgs(argsMap, "challenge_records_export.csv");
+
+        ChallengeManager challengeManager = GlobalManager.getInstance().getChallengeManager();
+        int exported = challengeManager.exportRecords(options);
+        OutputUtils.printInfo(exported + " record(s) exported.");
+    }
+}
@@ -3,12 +3,11 @@ package features.modules.DailyEcoChallenge.handlers;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.DailyEcoChallenge.data.ChallengeManager;
 import features.modules.DailyEcoChallenge.instances.Challenge;
 
-import java.util.Scanner;
-
 public class ChallengeRefreshHandler extends CommandInstance.Handler {
     @Override
     public void run() {
@@ -28,9 +27,9 @@ public class ChallengeRefreshHandler extends CommandInstance.Handler {
         OutputUtils.printDataRow("Current Challenge", currentChallenge.getDescription());
         OutputUtils.printDataRow("Difficulty", new Chalk(currentChallenge.getDifficulty()).bold());
         
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         System.out.print("Are you sure you want to get a new challenge? This cannot be undone. (y/n): ");
-        String response = scanner.nextLine().trim().toLowerCase();
+        String response = input.nextLine().trim().toLowerCase();
         
         if (response.equals("y") || response.equals("yes")) {
             Challenge newChallenge = challengeManager.refreshTodaysChallenge();
@@ -3,12 +3,11 @@ package features.modules.DailyEcoChallenge.handlers;
 import core.cli.commands.CommandInstance;
 import core.manager.GlobalManager;
 import core.terminal.Chalk;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.DailyEcoChallenge.data.ChallengeManager;
 import features.modules.DailyEcoChallenge.instances.Challenge;
 
-import java.util.Scanner;
-
 public class ChallengeSkipHandler extends CommandInstance.Handler {
     @Override
     public void run() {
@@ -35,12 +34,12 @@ public class ChallengeSkipHandler extends CommandInstance.Handler {
         OutputUtils.printDataRow("Challenge", todaysChallenge.getDescription());
         OutputUtils.printDataRow("Difficulty", new Chalk(todaysChallenge.getDifficulty()).bold());
         
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         System.out.print("Why are you skipping this challenge? (optional): ");
-        String reason = scanner.nextLine().trim();
+        String reason = input.nextLine().trim();
         
         System.out.print("Are you sure you want to skip this challenge? (yes/no): ");
-        String response = scanner.nextLine().trim().toLowerCase();
+        String response = input.nextLine().trim().toLowerCase();
         
         if (!response.equalsIgnoreCase("yes")) {
             OutputUtils.printSuccess("Skip cancelled. Your challenge is still active!");
@@ -10,7 +10,8 @@ public class HabitCommands extends CommandInstance {
             new HabitRemoveCommand(),
             new HabitLogCommand(),
             new HabitTodayCommand(),
-            new HabitHistoryCommand()
+            new HabitHistoryCommand(),
+            new HabitExportCommand()
         });
         
         this.setAuthRequired(true);
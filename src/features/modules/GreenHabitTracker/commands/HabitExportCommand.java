@@ -0,0 +1,26 @@
+package features.modules.GreenHabitTracker.commands;
+
+import core.cli.arguments.ArgumentDataType;
+import core.cli.arguments.ArgumentList;
+import core.cli.arguments.KeywordArgument;
+import core.cli.commands.CommandInstance;
+import features.modules.GreenHabitTracker.handlers.HabitExportHandler;
+
+public class HabitExportCommand extends CommandInstance {
+      public HabitExportCommand() {
+          super(
+                    "export",
+                    "Exports your habit completions to a CSV file",
+                    "-f my_habits.csv --habit 1 --gzip",
+                    new ArgumentList(
+                              new KeywordArgument("file", "f", "The name of the file to export your habit completions to.", ArgumentDataType.STRING, false),
+                              new KeywordArgument("directory", "d", "The directory where the file will be saved.", ArgumentDataType.STRING, false),
+                              new KeywordArgument("from", "s", "Only export completions from this date on (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                              new KeywordArgument("to", "e", "Only export completions up to this date (yyyy-MM-dd).", ArgumentDataType.STRING, false),
+                              new KeywordArgument("habit", "i", "Only export the completions of the habit with this ID.", ArgumentDataType.INTEGER, false),
+                              new KeywordArgument("gzip", "z", "Compress the exported file with gzip.", ArgumentDataType.FLAG, false)
+                    ),
+                    new HabitExportHandler()
+          );
+      }
+}
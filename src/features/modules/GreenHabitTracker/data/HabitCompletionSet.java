@@ -0,0 +1,202 @@
+package features.modules.GreenHabitTracker.data;
+
+import java.util.Arrays;
+
+/**
+ * The days on which a single habit was completed, stored as a bitset keyed by epoch day.
+ * Bit {@code d} is set when the habit was completed on epoch day {@code d}, so checking a day is a single
+ * bit test, and counts and streaks are computed a 64-bit word at a time.
+ * The bitset only covers the words between the first and the last completion, and grows in both directions.
+ */
+public class HabitCompletionSet {
+    private long[] words = new long[0];
+
+    // Index of the first word in the words array, counted from epoch day 0
+    private long baseWord = 0;
+
+    // Number of set bits
+    private int count = 0;
+
+    /**
+     * Marks the habit as completed on the given day.
+     *
+     * @param epochDay the day, counted in days since 1970-01-01
+     * @return true if the day was not marked yet
+     */
+    public boolean add(long epochDay) {
+        long word = wordOf(epochDay);
+        ensureCovers(word);
+
+        int i = (int) (word - baseWord);
+        long mask = 1L << bitOf(epochDay);
+        if ((words[i] & mask) != 0) return false;
+
+        words[i] |= mask;
+        count++;
+        return true;
+    }
+
+    /**
+     * Checks whether the habit was completed on the given day.
+     *
+     * @param epochDay the day, counted in days since 1970-01-01
+     * @return true if the day is marked
+     */
+    public boolean contains(long epochDay) {
+        long i = wordOf(epochDay) - baseWord;
+        return i >= 0 && i < words.length && (words[(int) i] & (1L << bitOf(epochDay))) != 0;
+    }
+
+    /**
+     * Gets the number of days on which the habit was completed.
+     *
+     * @return the number of marked days
+     */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Counts the days the habit was completed on within a window of days.
+     *
+     * @param fromEpochDay the first day of the window (inclusive)
+     * @param toEpochDay   the last day of the window (exclusive)
+     * @return the number of marked days in the window
+     */
+    public int count(long fromEpochDay, long toEpochDay) {
+        long from = Math.max(fromEpochDay, baseWord << 6);
+        long to = Math.min(toEpochDay, (baseWord + words.length) << 6);
+        if (from >= to) return 0;
+
+        int firstWord = (int) (wordOf(from) - baseWord);
+        int lastWord = (int) (wordOf(to - 1) - baseWord);
+        long firstMask = -1L << bitOf(from);
+        long lastMask = -1L >>> (63 - bitOf(to - 1));
+
+        if (firstWord == lastWord) {
+            return Long.bitCount(words[firstWord] & firstMask & lastMask);
+        }
+
+        int total = Long.bitCount(words[firstWord] & firstMask);
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            total += Long.bitCount(words[i]);
+        }
+        total += Long.bitCount(words[lastWord] & lastMask);
+
+        return total;
+    }
+
+    /**
+     * Counts the consecutive marked days ending on the given day.
+     *
+     * @param epochDay the last day of the streak
+     * @return the length of the streak, or 0 if the given day is not marked
+     */
+    public int streakEndingAt(long epochDay) {
+        int streak = 0;
+        long word = wordOf(epochDay);
+        int bit = bitOf(epochDay);
+
+        for (long i = word - baseWord; i >= 0 && i < words.length; i--) {
+            // Keep only the bits up to the current day, shifted so that day is the highest bit
+            long bits = words[(int) i] << (63 - bit);
+            int run = Long.numberOfLeadingZeros(~bits);
+            if (run > bit) run = bit + 1;
+
+            streak += run;
+            if (run <= bit) break; // The streak stopped inside this word
+
+            bit = 63;
+        }
+
+        return streak;
+    }
+
+    /**
+     * Finds the longest run of consecutive marked days.
+     *
+     * @return the length of the longest streak
+     */
+    public int longestStreak() {
+        int longest = 0;
+        int current = 0;
+
+        for (long word : words) {
+            if (word == -1L) {
+                current += 64;
+                continue;
+            }
+
+            // Walk the runs of ones and zeros inside the word, starting from the lowest bit (earliest day)
+            int position = 0;
+            while (position < 64) {
+                long remaining = word >>> position;
+                int ones = Long.numberOfTrailingZeros(~remaining);
+                if (ones > 64 - position) ones = 64 - position;
+
+                current += ones;
+                position += ones;
+                if (position >= 64) break;
+
+                longest = Math.max(longest, current);
+                current = 0;
+
+                int zeros = remaining >>> ones == 0 ? 64 - position : Long.numberOfTrailingZeros(remaining >>> ones);
+                position += zeros;
+            }
+        }
+
+        return Math.max(longest, current);
+    }
+
+    /**
+     * Lists the marked days, most recent first.
+     *
+     * @return the marked epoch days in descending order
+     */
+    public long[] toDescendingArray() {
+        long[] days = new long[count];
+        int n = 0;
+
+        for (int i = words.length - 1; i >= 0; i--) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = 63 - Long.numberOfLeadingZeros(word);
+                days[n++] = ((baseWord + i) << 6) + bit;
+                word &= ~(1L << bit);
+            }
+        }
+
+        return days;
+    }
+
+    private void ensureCovers(long word) {
+        if (words.length == 0) {
+            words = new long[1];
+            baseWord = word;
+            return;
+        }
+
+        if (word < baseWord) {
+            int extra = (int) (baseWord - word);
+            long[] grown = new long[words.length + extra];
+            System.arraycopy(words, 0, grown, extra, words.length);
+            words = grown;
+            baseWord = word;
+        } else if (word >= baseWord + words.length) {
+            words = Arrays.copyOf(words, (int) (word - baseWord + 1));
+        }
+    }
+
+    private static long wordOf(long epochDay) {
+        return epochDay >> 6;
+    }
+
+    private static int bitOf(long epochDay) {
+        return (int) (epochDay & 63);
+    }
+}
@@ -2,21 +2,42 @@ package features.modules.GreenHabitTracker.data;
 
 import core.instances.Timestamp;
 import core.io.CSVParser;
+import core.io.CSVWriter;
+import core.io.ExportOptions;
 import core.io.IOManager;
+import core.io.RecordLog;
 import core.manager.GlobalManager;
 import features.modules.GreenHabitTracker.instances.Habit;
 import features.modules.GreenHabitTracker.instances.HabitRecord;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 
 /**
  * Manages habits and habit completion records for the logged-in user.
  * Handles creation, storage, retrieval, and analysis of habit tracking data.
+ * The records are kept in one chronological list per habit, so removing a habit drops its records
+ * without scanning the records of the other habits.
+ * Besides the raw records, the completion days of every habit are kept in a {@link HabitCompletionSet},
+ * so "done today" checks, streaks and completion rates never scan the record list.
+ * Changes to the records are appended to a {@link RecordLog} instead of rewriting the whole records file,
+ * and snapshots are stored as fixed-width binary records (int habit id, long timestamp).
  */
 public class HabitManager {
     private ArrayList<Habit> habits;
-    private ArrayList<HabitRecord> records;
+    private final HashMap<Integer, ArrayList<HabitRecord>> records = new HashMap<>();
+    private final HashMap<Integer, HabitCompletionSet> completions = new HashMap<>();
+    private final RecordLog recordLog = new RecordLog("habit_records");
+
+    // Operations of the entries in the record log
+    private static final char ADD = 'A';
+    private static final char REMOVE_HABIT = 'R';
+
+    // Binary snapshot schema of the records
+    private static final int RECORDS_SCHEMA_ID = 2;
+    private static final int RECORD_SIZE = Integer.BYTES + Long.BYTES;
 
     /**
      * Initializes the HabitManager by loading existing habits and records from storage.
@@ -34,12 +55,7 @@ public class HabitManager {
         }
         
         // Initialize records
-        if (!ioManager.existsFile("habit_records")) {
-            records = new ArrayList<>();
-            ioManager.writeToFile("habit_records", "");
-        } else {
-            loadRecords(ioManager);
-        }
+        loadRecords();
     }
 
     /**
@@ -49,47 +65,78 @@ public class HabitManager {
      */
     private void loadHabits(IOManager ioManager) {
         String csvString = ioManager.parseStringFromFile("habits");
-        Object[] csvData = CSVParser.parseCSVString(csvString).toArray();
         habits = new ArrayList<>();
 
-        for (Object obj : csvData) {
-            String[] row = (String[]) obj;
-            if (row.length < 2) continue; // Skip invalid rows
+        CSVParser.parseCSVString(csvString, row -> {
+            if (row.size() < 2) return; // Skip invalid rows
 
             try {
-                int id = Integer.parseInt(row[0]);
-                String name = row[1];
+                int id = row.getInt(0);
+                String name = row.get(1);
                 habits.add(new Habit(id, name));
             } catch (NumberFormatException e) {
                 // Skip rows with invalid number formats
             }
-        }
+        });
     }
 
     /**
-     * Loads habit records from the storage file.
-     *
-     * @param ioManager the IO manager instance
+     * Loads habit records from the storage snapshot and replays the changes logged since.
+     * Records stored as CSV by earlier versions are migrated to a binary snapshot.
      */
-    private void loadRecords(IOManager ioManager) {
-        String csvString = ioManager.parseStringFromFile("habit_records");
-        Object[] csvData = CSVParser.parseCSVString(csvString).stream().sorted(
-                Comparator.comparingLong(a -> Long.parseLong(((String[]) a)[1]))
-        ).toArray();
-        records = new ArrayList<>();
+    private void loadRecords() {
+        records.clear();
+
+        ByteBuffer snapshot = recordLog.readBinarySnapshot(RECORDS_SCHEMA_ID, RECORD_SIZE);
+        if (snapshot != null) {
+            while (snapshot.hasRemaining()) {
+                int habitId = snapshot.getInt();
+                getHabitRecords(habitId).add(new HabitRecord(habitId, new Timestamp(snapshot.getLong())));
+            }
+        } else {
+            String csvString = recordLog.readSnapshot();
+            CSVParser.parseCSVString(csvString, row -> loadRecord(row.toArray()));
+        }
 
-        for (Object obj : csvData) {
-            String[] row = (String[]) obj;
-            if (row.length < 2) continue; // Skip invalid rows
+        recordLog.replay((operation, fields) -> {
+            if (operation == ADD) {
+                loadRecord(fields);
+            } else if (operation == REMOVE_HABIT && fields.length >= 1) {
+                try {
+                    int habitId = Integer.parseInt(fields[0]);
+                    records.remove(habitId);
+                } catch (NumberFormatException e) {
+                    // Skip entries with invalid number formats
+                }
+            }
+        });
 
-            try {
-                int habitId = Integer.parseInt(row[0]);
-                long timestamp = Long.parseLong(row[1]);
-                records.add(new HabitRecord(habitId, new Timestamp(timestamp)));
-            } catch (NumberFormatException e) {
-                // Skip rows with invalid number formats
+        completions.clear();
+        for (ArrayList<HabitRecord> habitRecords : records.values()) {
+            habitRecords.sort(Comparator.comparingLong(record -> record.getTimestamp().getTimestamp()));
+            for (HabitRecord record : habitRecords) {
+                getCompletions(record.getHabitId()).add(record.getTimestamp().epochDay());
             }
         }
+
+        if (snapshot == null || recordLog.shouldCompact()) saveRecords();
+    }
+
+    /**
+     * Adds a record read from the snapshot or the record log. Invalid records are skipped.
+     *
+     * @param fields the habit ID and timestamp of the record
+     */
+    private void loadRecord(String[] fields) {
+        if (fields.length < 2) return; // Skip invalid rows
+
+        try {
+            int habitId = Integer.parseInt(fields[0]);
+            long timestamp = Long.parseLong(fields[1]);
+            getHabitRecords(habitId).add(new HabitRecord(habitId, new Timestamp(timestamp)));
+        } catch (NumberFormatException e) {
+            // Skip rows with invalid number formats
+        }
     }
 
     /**
@@ -98,28 +145,28 @@ public class HabitManager {
     private void saveHabits() {
         IOManager ioManager = GlobalManager.getInstance().getIOManager();
         StringBuilder csvString = new StringBuilder();
+        CSVWriter writer = new CSVWriter(csvString);
         
         for (Habit habit : habits) {
-            String[] habitArray = habit.toArray();
-            csvString.append(String.join(",", habitArray)).append("\n");
+            writer.writeRow(habit.toArray());
         }
         
         ioManager.writeToFile("habits", csvString.toString());
     }
 
     /**
-     * Saves habit records to the storage file.
+     * Saves all habit records to a new binary snapshot, replacing the record log.
      */
     private void saveRecords() {
-        IOManager ioManager = GlobalManager.getInstance().getIOManager();
-        StringBuilder csvString = new StringBuilder();
-        
-        for (HabitRecord record : records) {
-            String[] recordArray = record.toArray();
-            csvString.append(String.join(",", recordArray)).append("\n");
+        ByteBuffer snapshot = recordLog.allocateSnapshot(RECORDS_SCHEMA_ID, RECORD_SIZE, getRecordCount());
+
+        for (ArrayList<HabitRecord> habitRecords : records.values()) {
+            for (HabitRecord record : habitRecords) {
+                snapshot.putInt(record.getHabitId()).putLong(record.getTimestamp().getTimestamp());
+            }
         }
-        
-        ioManager.writeToFile("habit_records", csvString.toString());
+
+        recordLog.compact(snapshot);
     }
 
     /**
@@ -153,9 +200,11 @@ public class HabitManager {
         if (habit != null) {
             habits.remove(habit);
             // Also remove all records for this habit
-            records.removeIf(record -> record.getHabitId() == habitId);
+            records.remove(habitId);
+            completions.remove(habitId);
             saveHabits();
-            saveRecords();
+            recordLog.append(REMOVE_HABIT, Integer.toString(habitId));
+            if (recordLog.shouldCompact()) saveRecords();
             return true;
         }
         return false;
@@ -181,8 +230,10 @@ public class HabitManager {
         }
 
         HabitRecord record = new HabitRecord(habitId, today);
-        records.add(record);
-        saveRecords();
+        getHabitRecords(habitId).add(record);
+        getCompletions(habitId).add(today.epochDay());
+        recordLog.append(ADD, record.toArray());
+        if (recordLog.shouldCompact()) saveRecords();
         return true;
     }
 
@@ -196,12 +247,58 @@ public class HabitManager {
     }
 
     /**
-     * Gets all habit records.
+     * Gets the number of habit records of all habits.
+     *
+     * @return the number of records
+     */
+    public int getRecordCount() {
+        int count = 0;
+        for (ArrayList<HabitRecord> habitRecords : records.values()) {
+            count += habitRecords.size();
+        }
+        return count;
+    }
+
+    /**
+     * Exports the habit records within the date range of the options to a CSV file.
+     * The records are streamed to the file one row at a time, so no copy of the records is built in memory.
+     * When all habits are exported, the records of the habits are merged in chronological order.
      *
-     * @return the list of all habit records
+     * @param options the export options
+     * @param habitId the ID of the only habit to export, or -1 to export all habits
+     * @return the number of exported records
      */
-    public ArrayList<HabitRecord> getRecords() {
-        return records;
+    public int exportRecords(ExportOptions options, int habitId) {
+        ArrayList<ArrayList<HabitRecord>> sources = new ArrayList<>();
+        if (habitId == -1) {
+            sources.addAll(records.values());
+        } else if (records.containsKey(habitId)) {
+            sources.add(records.get(habitId));
+        }
+
+        int[] exported = {0};
+
+        IOManager ioManager = GlobalManager.getInstance().getIOManager();
+        ioManager.exportToFile(options, writer -> {
+            int[] positions = new int[sources.size()];
+            while (true) {
+                // The next record is the earliest of the next records of the habits
+                int next = -1;
+                for (int i = 0; i < sources.size(); i++) {
+                    if (positions[i] == sources.get(i).size()) continue;
+                    if (next == -1 || timestampAt(sources, positions, i) < timestampAt(sources, positions, next)) next = i;
+                }
+                if (next == -1) break;
+
+                HabitRecord record = sources.get(next).get(positions[next]++);
+                if (!options.includes(record.getTimestamp().getTimestamp())) continue;
+
+                writer.writeRow(record.toArray());
+                exported[0]++;
+            }
+        });
+
+        return exported[0];
     }
 
     /**
@@ -224,25 +321,60 @@ public class HabitManager {
      * @return true if the habit was completed today, false otherwise
      */
     public boolean isHabitCompletedToday(int habitId) {
-        Timestamp today = new Timestamp(System.currentTimeMillis());
-        return records.stream().anyMatch(record -> 
-            record.getHabitId() == habitId &&
-            record.getTimestamp().getYear() == today.getYear() &&
-            record.getTimestamp().getMonth() == today.getMonth() &&
-            record.getTimestamp().getDay() == today.getDay()
-        );
+        HabitCompletionSet days = completions.get(habitId);
+        return days != null && days.contains(new Timestamp(System.currentTimeMillis()).epochDay());
+    }
+
+    /**
+     * Gets the number of consecutive days, ending today, on which a habit was completed.
+     * If the habit has not been completed today yet, the streak ending yesterday is still counted as current.
+     *
+     * @param habitId the ID of the habit
+     * @return the current streak in days
+     */
+    public int getCurrentStreak(int habitId) {
+        HabitCompletionSet days = completions.get(habitId);
+        if (days == null) return 0;
+
+        long today = new Timestamp(System.currentTimeMillis()).epochDay();
+        return days.contains(today) ? days.streakEndingAt(today) : days.streakEndingAt(today - 1);
+    }
+
+    /**
+     * Gets the longest number of consecutive days on which a habit was completed.
+     *
+     * @param habitId the ID of the habit
+     * @return the longest streak in days
+     */
+    public int getLongestStreak(int habitId) {
+        HabitCompletionSet days = completions.get(habitId);
+        return days != null ? days.longestStreak() : 0;
+    }
+
+    /**
+     * Gets the share of days on which a habit was completed over the last X days, including today.
+     *
+     * @param habitId the ID of the habit
+     * @param days    the number of days to look back
+     * @return the completion rate between 0 and 1
+     */
+    public double getCompletionRate(int habitId, int days) {
+        HabitCompletionSet completedDays = completions.get(habitId);
+        if (completedDays == null || days <= 0) return 0;
+
+        long today = new Timestamp(System.currentTimeMillis()).epochDay();
+        return (double) completedDays.count(today - days + 1, today + 1) / days;
     }
 
     /**
-     * Gets all records for a specific habit.
+     * Gets the days on which a habit was completed, most recent first.
      *
      * @param habitId the ID of the habit
-     * @return an array of HabitRecord objects for the specified habit
+     * @return the epoch days of the completions
      */
-    public HabitRecord[] getRecordsByHabitId(int habitId) {
-        return records.stream()
-                .filter(record -> record.getHabitId() == habitId)
-                .toArray(HabitRecord[]::new);
+    public long[] getCompletionDays(int habitId) {
+        HabitCompletionSet days = completions.get(habitId);
+        return days != null ? days.toDescendingArray() : new long[0];
     }
 
     /**
@@ -252,5 +384,18 @@ public class HabitManager {
      */
     public void clearRecords() {
         records.clear();
+        completions.clear();
+    }
+
+    private ArrayList<HabitRecord> getHabitRecords(int habitId) {
+        return records.computeIfAbsent(habitId, id -> new ArrayList<>());
+    }
+
+    private static long timestampAt(ArrayList<ArrayList<HabitRecord>> sources, int[] positions, int source) {
+        return sources.get(source).get(positions[source]).getTimestamp().getTimestamp();
+    }
+
+    private HabitCompletionSet getCompletions(int habitId) {
+        return completions.computeIfAbsent(habitId, id -> new HabitCompletionSet());
     }
 }
@@ -0,0 +1,24 @@
+package features.modules.GreenHabitTracker.handlers;
+
+import core.cli.commands.CommandInstance;
+import core.io.ExportOptions;
+import core.manager.GlobalManager;
+import core.terminal.OutputUtils;
+import features.modules.GreenHabitTracker.data.HabitManager;
+
+public class HabitExportHandler extends CommandInstance.Handler {
+    @Override
+    public void run() {
+        ExportOptions options = ExportOptions.fromArgs(argsMap, "habit_records_export.csv");
+        HabitManager habitManager = GlobalManager.getInstance().getHabitManager();
+
+        int habitId = args.getInt("habit", -1);
+        if (habitId != -1 && habitManager.getHabitById(habitId) == null) {
+            OutputUtils.printError("Invalid habit selection. Please select a valid habit ID.");
+            return;
+        }
+
+        int exported = habitManager.exportRecords(options, habitId);
+        OutputUtils.printInfo(exported + " record(s) exported.");
+    }
+}
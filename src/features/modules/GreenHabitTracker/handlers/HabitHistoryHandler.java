@@ -3,13 +3,12 @@ package features.modules.GreenHabitTracker.handlers;
 import core.cli.commands.CommandInstance;
 import core.instances.Timestamp;
 import core.manager.GlobalManager;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.GreenHabitTracker.data.HabitManager;
 import features.modules.GreenHabitTracker.instances.Habit;
-import features.modules.GreenHabitTracker.instances.HabitRecord;
 
 import java.util.ArrayList;
-import java.util.Scanner;
 
 public class HabitHistoryHandler extends CommandInstance.Handler {
     @Override
@@ -30,10 +29,10 @@ public class HabitHistoryHandler extends CommandInstance.Handler {
 
         System.out.print("> ");
 
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         
         try {
-            int habitId = Integer.parseInt(scanner.nextLine().trim());
+            int habitId = Integer.parseInt(input.nextLine().trim());
             
             Habit habit = habitManager.getHabitById(habitId);
             if (habit == null) {
@@ -41,21 +40,25 @@ public class HabitHistoryHandler extends CommandInstance.Handler {
                 return;
             }
 
-            HabitRecord[] records = habitManager.getRecordsByHabitId(habitId);
+            long[] completionDays = habitManager.getCompletionDays(habitId);
             
             OutputUtils.printSectionHeader("History for: " + habit.getName());
             
-            if (records.length == 0) {
+            if (completionDays.length == 0) {
                 OutputUtils.printInfo("No completion records found for this habit.");
                 return;
             }
 
-            // Sort records by timestamp (most recent first)
-            java.util.Arrays.sort(records, (a, b) -> 
-                Long.compare(b.getTimestamp().getTimestamp(), a.getTimestamp().getTimestamp()));
+            int currentStreak = habitManager.getCurrentStreak(habitId);
+            int longestStreak = habitManager.getLongestStreak(habitId);
+            OutputUtils.printDataRow("Current streak", currentStreak + " day" + (currentStreak == 1 ? "" : "s"));
+            OutputUtils.printDataRow("Longest streak", longestStreak + " day" + (longestStreak == 1 ? "" : "s"));
+            OutputUtils.printDataRow("Last 30 days", String.format("%.0f%%", habitManager.getCompletionRate(habitId, 30) * 100));
+            System.out.println();
 
-            for (HabitRecord record : records) {
-                Timestamp timestamp = record.getTimestamp();
+            // Days are already sorted, most recent first
+            for (long day : completionDays) {
+                Timestamp timestamp = new Timestamp(Timestamp.startOfEpochDay(day));
                 String dateStr = String.format("%04d-%02d-%02d", 
                     timestamp.getYear(), timestamp.getMonth(), timestamp.getDay());
                 System.out.println("- " + dateStr);
@@ -3,12 +3,12 @@ package features.modules.GreenHabitTracker.handlers;
 import core.cli.commands.CommandInstance;
 import core.instances.Timestamp;
 import core.manager.GlobalManager;
+import core.terminal.InputSource;
 import core.terminal.OutputUtils;
 import features.modules.GreenHabitTracker.data.HabitManager;
 import features.modules.GreenHabitTracker.instances.Habit;
 
 import java.util.ArrayList;
-import java.util.Scanner;
 
 public class HabitLogHandler extends CommandInstance.Handler {
     @Override
@@ -28,10 +28,10 @@ public class HabitLogHandler extends CommandInstance.Handler {
         }
 
         System.out.print("> ");
-        Scanner scanner = new Scanner(System.in);
+        InputSource input = InputSource.getInstance();
         
         try {
-            int habitId = Integer.parseInt(scanner.nextLine().trim());
+            int habitId = Integer.parseInt(input.nextLine().trim());
             
             Habit habit = habitManager.getHabitById(habitId);
             if (habit == null) {
@@ -9,9 +9,7 @@ import features.modules.GreenHabitTracker.instances.Habit;
 public class HabitRemoveHandler extends CommandInstance.Handler {
     @Override
     public void run() {
-        String habitIdStr = argsMap.get("habit_id");
-        
-        int habitId = Integer.parseInt(habitIdStr);
+        int habitId = args.getInt("habit_id", -1);
         
         HabitManager habitManager = GlobalManager.getInstance().getHabitManager();
         Habit habit = habitManager.getHabitById(habitId);
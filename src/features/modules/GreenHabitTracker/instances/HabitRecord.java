@@ -70,9 +70,7 @@ public class HabitRecord {
         if (obj == null || getClass() != obj.getClass()) return false;
         HabitRecord record = (HabitRecord) obj;
         return habitId == record.habitId &&
-                timestamp.getYear() == record.timestamp.getYear() &&
-                timestamp.getMonth() == record.timestamp.getMonth() &&
-                timestamp.getDay() == record.timestamp.getDay();
+                timestamp.epochDay() == record.timestamp.epochDay();
     }
 
     /**
@@ -82,7 +80,6 @@ public class HabitRecord {
      */
     @Override
     public int hashCode() {
-        return Integer.hashCode(habitId) * 31 + 
-               (timestamp.getYear() * 10000 + timestamp.getMonth() * 100 + timestamp.getDay());
+        return Integer.hashCode(habitId) * 31 + Long.hashCode(timestamp.epochDay());
     }
 }
@@ -6,8 +6,8 @@ import core.cli.arguments.PositionalArgument;
 import core.cli.commands.CommandInstance;
 import core.terminal.Chalk;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import static features.terminal.utils.HelpUtils.appendCommandsToMsg;
 
@@ -25,7 +25,7 @@ public class CommandHelpBuilder {
      * @param commandInstance The CommandInstance object representing the command to display help for.
      */
     public static void printCommandHelp(CommandInstance commandInstance, boolean showTree) {
-        ArrayList<String> fullCommandPath = commandInstance.getFullPath();
+        List<String> fullCommandPath = commandInstance.getFullPath();
         String description = commandInstance.getDescription();
 
         // Split the description into the first sentence and the remaining description.
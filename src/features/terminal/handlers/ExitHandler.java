@@ -1,6 +1,7 @@
 package features.terminal.handlers;
 
 
+import core.cli.REPL;
 import core.cli.commands.CommandInstance;
 import core.terminal.Chalk;
 
@@ -8,6 +9,6 @@ public class ExitHandler extends CommandInstance.Handler {
     @Override
     public void run() {
         System.out.println(new Chalk("Exiting the application. Goodbye!").purple().bold());
-        System.exit(0);
+        REPL.exit();
     }
 }
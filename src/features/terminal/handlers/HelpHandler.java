@@ -30,14 +30,20 @@ public class HelpHandler extends CommandInstance.Handler {
     }
 
     /**
-     * Retrieves the target command instance layer by layer based on the user input command names.
+     * Retrieves the target command instance by its full path in a single lookup.
+     * If the path does not lead to an enabled command, it is walked layer by layer to report which part is wrong.
      *
      * @param splitCommandNames The split command names to find the command instance.
      * @return The CommandInstance corresponding to the provided command names.
      * @throws CommandError If the command or sub-command is not found or is disabled.
      */
     private CommandInstance getTargetCommandInstance(String[] splitCommandNames) {
-        CommandInstance commandInstance =  CommandRegistrar.getCommandByName(splitCommandNames[0]);
+        CommandInstance commandInstance = CommandRegistrar.getCommandByPath(String.join(".", splitCommandNames));
+        if (commandInstance != null && isEnabled(commandInstance)) {
+            return commandInstance;
+        }
+
+        commandInstance = CommandRegistrar.getCommandByName(splitCommandNames[0]);
 
         for (int i = 1; i < splitCommandNames.length; i++) {
             if (!commandInstance.isHasSubCommands()) {
@@ -77,4 +83,18 @@ public class HelpHandler extends CommandInstance.Handler {
 
         return commandInstance;
     }
+
+    /**
+     * Checks whether a command and all its parent commands are enabled.
+     *
+     * @param commandInstance The command to check.
+     * @return true if the command can be accessed.
+     */
+    private boolean isEnabled(CommandInstance commandInstance) {
+        for (CommandInstance command = commandInstance; command != null; command = command.getParentCommand()) {
+            if (command.isDisabled()) return false;
+        }
+
+        return true;
+    }
 }